@@ -0,0 +1,121 @@
+package com.lsm.idea_print.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lsm.idea_print.service.ChatCompletionChunkParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gpt4Service 응답 파싱 방식 비교.
+ * chat.completion 본문에서 choices[0].message.content 를 꺼내는 비용을
+ * JsonNode 트리(현재 방식) / 타입 레코드 바인딩 / 스트리밍 파서로 잰다.
+ * 스트리밍 경로의 chat.completion.chunk 파싱도 같이 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatCompletionParsingBenchmark {
+
+    private static final String CONTENT = "오늘 하루를 웃음으로 시작하게 할 재미있는 문장이 여기에 들어갑니다. ";
+
+    @Param({"1", "8"})
+    int choices;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private ObjectReader completionReader;
+    private byte[] completion;
+    private String chunk;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ChatCompletion(List<Choice> choices) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Choice(Message message) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Message(String role, String content) {
+    }
+
+    @Setup
+    public void setUp() {
+        completionReader = objectMapper.readerFor(ChatCompletion.class);
+        StringBuilder body = new StringBuilder("{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion\",\"created\":1700000000,"
+                + "\"model\":\"gpt-4.1\",\"choices\":[");
+        for (int i = 0; i < choices; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"index\":").append(i)
+                    .append(",\"message\":{\"role\":\"assistant\",\"content\":\"").append(CONTENT.repeat(4))
+                    .append("\",\"refusal\":null,\"annotations\":[]},\"logprobs\":null,\"finish_reason\":\"stop\"}");
+        }
+        body.append("],\"usage\":{\"prompt_tokens\":30,\"completion_tokens\":120,\"total_tokens\":150},"
+                + "\"service_tier\":\"default\",\"system_fingerprint\":\"fp_1\"}");
+        completion = body.toString().getBytes(StandardCharsets.UTF_8);
+        chunk = "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"created\":1700000000,\"model\":\"gpt-4.1\","
+                + "\"choices\":[{\"index\":0,\"delta\":{\"content\":\"웃음\"},\"logprobs\":null,\"finish_reason\":null}]}";
+    }
+
+    @Benchmark
+    public String jsonNodeTree() throws IOException {
+        JsonNode json = objectMapper.readTree(completion);
+        return json.path("choices").get(0).path("message").path("content").asText();
+    }
+
+    @Benchmark
+    public String typedRecords() throws IOException {
+        ChatCompletion parsed = completionReader.readValue(completion);
+        return parsed.choices().get(0).message().content();
+    }
+
+    @Benchmark
+    public String streamingParser() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(completion)) {
+            boolean inMessage = false;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String field = parser.currentName();
+                if ("message".equals(field)) {
+                    inMessage = true;
+                } else if (inMessage && "content".equals(field)) {
+                    parser.nextToken();
+                    return parser.getText();
+                }
+            }
+            return null;
+        }
+    }
+
+    @Benchmark
+    public String chunkJsonNodeTree() throws IOException {
+        return objectMapper.readTree(chunk).path("choices").path(0).path("delta").path("content").asText(null);
+    }
+
+    @Benchmark
+    public String chunkStreamingParser() {
+        return ChatCompletionChunkParser.extractDeltaContent(chunk);
+    }
+}
@@ -0,0 +1,123 @@
+package com.lsm.idea_print.benchmark;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.config.ResilienceProperties;
+import com.lsm.idea_print.config.ThreadsAccountProperties;
+import com.lsm.idea_print.config.ThreadsApiProperties;
+import com.lsm.idea_print.dto.AccountSnapshot;
+import com.lsm.idea_print.dto.response.PostRunSummary;
+import com.lsm.idea_print.entity.TokenStatus;
+import com.lsm.idea_print.repository.MetaTokenRepository;
+import com.lsm.idea_print.service.AccountRegistry;
+import com.lsm.idea_print.service.PostCountAggregator;
+import com.lsm.idea_print.service.PostHistoryAppender;
+import com.lsm.idea_print.service.PostingFanOutEngine;
+import com.lsm.idea_print.service.PostingMetrics;
+import com.lsm.idea_print.service.ThreadsApiClient;
+import com.lsm.idea_print.service.ThreadsPostService;
+import com.lsm.idea_print.service.TwoPhasePublisher;
+import com.lsm.idea_print.service.UpstreamGuards;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * ThreadsPostService 팬아웃(계정 조회 -> 컨테이너 생성 -> 게시 -> 결과 집계) 한 번의 실행 시간.
+ * Threads API 는 인프로세스 스텁이고 속도 제한은 사실상 끈 상태라 파이프라인 자체의 오버헤드를 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FanOutBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int accounts;
+
+    @Param({"16", "64", "256"})
+    int concurrency;
+
+    private StubThreadsServer server;
+    private ThreadsApiClient threadsApiClient;
+    private ThreadsPostService threadsPostService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new StubThreadsServer(Math.min(concurrency, 64));
+
+        PostingProperties posting = new PostingProperties();
+        posting.setConcurrency(concurrency);
+        posting.setThreads(new PostingProperties.RateLimit(1_000_000, 1_000_000));
+        posting.getTwoPhase().setCreateConcurrency(concurrency);
+        posting.getTwoPhase().setPublishConcurrency(concurrency);
+        posting.getHistory().setEnabled(false);
+
+        ResilienceProperties resilience = new ResilienceProperties();
+        resilience.getThreads().setInitialConcurrency(concurrency * 2);
+        resilience.getThreads().setMaxConcurrency(concurrency * 2);
+
+        ThreadsApiProperties threadsApi = new ThreadsApiProperties();
+        threadsApi.setBaseUrl(server.baseUrl());
+        threadsApi.setMaxConnections(concurrency);
+        threadsApi.setPendingAcquireMaxCount(accounts * 2);
+        threadsApi.setPendingAcquireTimeout(Duration.ofMinutes(1));
+
+        PostingMetrics metrics = new PostingMetrics(new SimpleMeterRegistry());
+        threadsApiClient = new ThreadsApiClient(threadsApi);
+        UpstreamGuards upstreamGuards = new UpstreamGuards(posting, resilience);
+        TwoPhasePublisher twoPhasePublisher = new TwoPhasePublisher(threadsApiClient, upstreamGuards, metrics, posting);
+        AccountRegistry accountRegistry = new AccountRegistry(
+                repositoryReturning(syntheticAccounts(accounts)), new ThreadsAccountProperties(), posting,
+                Schedulers.boundedElastic(), null, null);
+
+        // 이 경로에서 쓰지 않는 협력 객체(GPT, 토큰 갱신, 배치 등)는 null
+        threadsPostService = new ThreadsPostService(null, threadsApiClient, accountRegistry, null,
+                new PostingFanOutEngine(posting), upstreamGuards, new PostCountAggregator(null, metrics, posting, null),
+                null, twoPhasePublisher, null, null, metrics, Schedulers.boundedElastic(), null,
+                new PostHistoryAppender(null, metrics, posting, null), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        threadsApiClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public PostRunSummary fanOut() {
+        return threadsPostService.summarize(threadsPostService.streamToAllAccounts("벤치마크 본문입니다.")).block();
+    }
+
+    private static List<AccountSnapshot> syntheticAccounts(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new AccountSnapshot(id, "user-" + id, "token-" + id, null, null, TokenStatus.ACTIVE, null))
+                .toList();
+    }
+
+    // 스냅샷 조회만 지원하는 저장소. 벤치마크가 DB 를 띄우지 않도록 한다
+    private static MetaTokenRepository repositoryReturning(List<AccountSnapshot> snapshots) {
+        return (MetaTokenRepository) Proxy.newProxyInstance(MetaTokenRepository.class.getClassLoader(),
+                new Class<?>[]{MetaTokenRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllSnapshots" -> snapshots;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubMetaTokenRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,60 @@
+package com.lsm.idea_print.benchmark;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * doPost 의 컨테이너 생성 요청 본문 만들기.
+ * 현재는 Map.of(...) 를 WebClient 의 Jackson 인코더가 직렬화한다. 레코드 바인딩, JsonGenerator 직접 쓰기와 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostBodyBenchmark {
+
+    private static final String TEXT = "오늘 하루를 웃음으로 시작하게 할 재미있는 문장입니다."
+            + " 팔로우하고 글을 매일 받아봐! 반하리는 무조건!! ";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectWriter recordWriter = objectMapper.writerFor(TextContainerRequest.class);
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    record TextContainerRequest(String media_type, String text) {
+    }
+
+    @Benchmark
+    public byte[] mapOfWithObjectMapper() throws IOException {
+        return objectMapper.writeValueAsBytes(Map.of("media_type", "TEXT", "text", TEXT));
+    }
+
+    @Benchmark
+    public byte[] recordWithObjectWriter() throws IOException {
+        return recordWriter.writeValueAsBytes(new TextContainerRequest("TEXT", TEXT));
+    }
+
+    @Benchmark
+    public byte[] jsonGenerator() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeStringField("media_type", "TEXT");
+            generator.writeStringField("text", TEXT);
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,28 @@
+package com.lsm.idea_print.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 리액티브 체인 안의 블로킹 작업(JDBC, JPA, 동기 생성 서비스)을 Netty 이벤트 루프 밖으로 보낼 스케줄러.
+ * spring.threads.virtual.enabled=true 면 작업마다 가상 스레드를 쓰고, 아니면 boundedElastic 을 쓴다.
+ */
+@Configuration
+public class BlockingSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blocking-vt-", 0).factory()),
+                    "blocking-vt");
+        }
+        return Schedulers.newBoundedElastic(
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "blocking");
+    }
+}
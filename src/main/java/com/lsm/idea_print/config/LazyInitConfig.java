@@ -0,0 +1,29 @@
+package com.lsm.idea_print.config;
+
+import com.lsm.idea_print.service.PostCountAggregator;
+import com.lsm.idea_print.service.PostHistoryAppender;
+import com.lsm.idea_print.service.PostHistoryService;
+import com.lsm.idea_print.service.RunCoordinator;
+import com.lsm.idea_print.service.ScheduleService;
+import com.lsm.idea_print.service.ThreadsApiClient;
+import com.lsm.idea_print.service.UpstreamGuards;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.main.lazy-initialization=true (prod 프로필) 에서도 기동 시 만들어야 하는 빈.
+ * 스케줄 작업과 실행 조정기, 카운트 집계기, 게시 이력 기록기/파티션 관리는 참조하는 곳이 없어 지연되면 아예 생성되지 않고,
+ * Threads 클라이언트와 업스트림 보호막은 첫 게시 요청의 지연을 줄이기 위해 미리 만든다.
+ */
+@Configuration
+public class LazyInitConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerPostingBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ScheduleService.class, RunCoordinator.class,
+                PostCountAggregator.class, PostHistoryAppender.class, PostHistoryService.class,
+                ThreadsApiClient.class, UpstreamGuards.class, MeterBinder.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.lsm.idea_print.config;
+
+import com.lsm.idea_print.service.MediaStore;
+import com.lsm.idea_print.service.PostCountAggregator;
+import com.lsm.idea_print.service.PostHistoryAppender;
+import com.lsm.idea_print.service.PostingWindowScheduler;
+import com.lsm.idea_print.service.RunCoordinator;
+import com.lsm.idea_print.service.TwoPhasePublisher;
+import com.lsm.idea_print.service.UpstreamGuard;
+import com.lsm.idea_print.service.UpstreamGuards;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 게시 파이프라인 게이지. 값은 스크랩할 때마다 각 컴포넌트에서 읽는다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder postingGauges(UpstreamGuards upstreamGuards, TwoPhasePublisher twoPhasePublisher,
+                                     PostCountAggregator postCountAggregator,
+                                     PostingWindowScheduler windowScheduler,
+                                     RunCoordinator runCoordinator,
+                                     PostHistoryAppender historyAppender,
+                                     MediaStore mediaStore) {
+        return registry -> {
+            bindUpstream(registry, "openai", upstreamGuards.getOpenAiGuard());
+            bindUpstream(registry, "threads", upstreamGuards.getThreadsGuard());
+            Gauge.builder("posting.queue.depth", twoPhasePublisher, TwoPhasePublisher::getCreateQueueDepth)
+                    .tag("stage", "create")
+                    .register(registry);
+            Gauge.builder("posting.queue.depth", twoPhasePublisher, TwoPhasePublisher::getPublishQueueDepth)
+                    .tag("stage", "publish")
+                    .register(registry);
+            Gauge.builder("posting.post_count.pending", postCountAggregator, PostCountAggregator::getPendingCount)
+                    .register(registry);
+            Gauge.builder("posting.wheel.pending", windowScheduler, PostingWindowScheduler::getPending)
+                    .register(registry);
+            Gauge.builder("posting.runs.active", runCoordinator, RunCoordinator::getActiveCount)
+                    .register(registry);
+            Gauge.builder("posting.history.pending", historyAppender, PostHistoryAppender::getPendingCount)
+                    .register(registry);
+            FunctionCounter.builder("posting.history.dropped", historyAppender, PostHistoryAppender::getDroppedCount)
+                    .register(registry);
+            Gauge.builder("posting.media.assets", mediaStore, MediaStore::getAssetCount)
+                    .register(registry);
+            Gauge.builder("posting.media.bytes", mediaStore, MediaStore::getTotalBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    private void bindUpstream(MeterRegistry registry, String upstream, UpstreamGuard guard) {
+        Gauge.builder("upstream.requests.in_flight", guard, UpstreamGuard::getInFlight)
+                .tag("upstream", upstream)
+                .register(registry);
+        Gauge.builder("upstream.concurrency.limit", guard, UpstreamGuard::getConcurrencyLimit)
+                .tag("upstream", upstream)
+                .register(registry);
+        // 0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN
+        Gauge.builder("upstream.circuit.state", guard, g -> g.getCircuitState().ordinal())
+                .tag("upstream", upstream)
+                .register(registry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.lsm.idea_print.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "openai")
+public class OpenAiProperties {
+    private String baseUrl = "https://api.openai.com/v1";
+    private String model = "gpt-4.1";
+
+    private CompletionCache completionCache = new CompletionCache();
+    private MultiChoice multiChoice = new MultiChoice();
+    private Batch batch = new Batch();
+    private Streaming streaming = new Streaming();
+    private Image image = new Image();
+
+    @Data
+    public static class CompletionCache {
+        // 같은 프롬프트의 계정들이 같은 문장을 받는다. 일일 게시는 multi-choice 가 맡으므로 기본은 끈다.
+        // multi-choice 를 끄고 계정마다 같은 문장이어도 될 때만 켠다 (둘 다 켜면 일일 게시는 multi-choice 를 쓴다)
+        private boolean enabled = false;
+        private int maxSize = 1000;
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class MultiChoice {
+        // 같은 프롬프트를 쓰는 계정들에게 한 번의 요청(n개 choice)으로 서로 다른 문장을 나눠준다.
+        // 일일 게시의 기본 생성 경로. 채우기 요청은 프롬프트마다 하나만 나간다 (completion-cache 의 single-flight 와 같은 역할)
+        private boolean enabled = true;
+        private int choicesPerRequest = 8;
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Image {
+        // 이미지 게시(posting.media.format) 용. 결과는 MediaStore 에 저장되어 다시 생성하지 않는다
+        private String model = "gpt-image-1";
+        private String size = "1024x1024";
+        private String quality = "medium";
+    }
+
+    @Data
+    public static class Streaming {
+        // stream: true 로 받아 증분 파싱. 길이 예산을 넘으면 중간에 연결을 끊는다
+        private boolean enabled = false;
+        // multi-choice 요청(generatePosts)에도 max_completion_tokens 로 보낸다
+        private int maxTokens = 500;
+        private int maxChars = 450;
+    }
+
+    @Data
+    public static class Batch {
+        // 파일 기반 배치 API (오프라인 모드)
+        private String completionWindow = "24h";
+        private Duration pollInterval = Duration.ofMinutes(1);
+        private Duration timeout = Duration.ofHours(24);
+    }
+}
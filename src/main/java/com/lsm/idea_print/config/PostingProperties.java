@@ -0,0 +1,222 @@
+package com.lsm.idea_print.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "posting")
+public class PostingProperties {
+
+    // 전체 계정 팬아웃 시 동시에 처리할 최대 계정 수
+    private int concurrency = 16;
+
+    // 업스트림별 토큰 버킷 설정
+    private RateLimit openai = new RateLimit(5, 10);
+    private RateLimit threads = new RateLimit(10, 20);
+
+    // 계정별 게시 한도 (maxPosts <= 0 이면 제한 없음)
+    private AccountQuota accountQuota = new AccountQuota();
+
+    // 컨테이너 생성 / 게시 단계별 동시 실행 한도
+    private TwoPhase twoPhase = new TwoPhase();
+
+    // 게시 대상 계정 로딩 방식
+    private Accounts accounts = new Accounts();
+
+    // post_job 내구성 작업 큐
+    private Jobs jobs = new Jobs();
+
+    // R2DBC 리액티브 meta_token 경로 (spring.r2dbc.* 로 접속)
+    private ReactiveDb reactiveDb = new ReactiveDb();
+
+    // 계정별 게시를 작업 창 안에 고르게 흩뿌리는 타이밍 휠 스케줄
+    private Spread spread = new Spread();
+
+    // 스케줄 작업 실행 조정 (겹침 방지, 마감, 종료 시 드레인)
+    private Runs runs = new Runs();
+
+    // 계정/토픽별 최근 게시물과 거의 같은 문장 걸러내기
+    private Dedup dedup = new Dedup();
+
+    // 게시 시도 이력 (post_history)
+    private History history = new History();
+
+    // 이미지/캐러셀 게시와 로컬 미디어 저장소
+    private Media media = new Media();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateLimit {
+        private double permitsPerSecond;
+        private int burst;
+    }
+
+    @Data
+    public static class TwoPhase {
+        private int createConcurrency = 16;
+        private int publishConcurrency = 16;
+        // 예약 게시에서 게시 시각을 기다릴 수 있는 최대 게시글 수. 차면 팬아웃이 새 계정 준비를 멈춘다
+        private int scheduledPublishConcurrency = 10000;
+    }
+
+    public enum LoadMode {
+        // 메모리 스냅샷 (기본)
+        SNAPSHOT,
+        // id 키셋 페이지 스트리밍 (대용량 테이블)
+        PAGED,
+        // R2DBC 로 한 번의 쿼리 결과를 백프레셔에 맞춰 흘려받는다 (posting.reactive-db.enabled 필요)
+        REACTIVE
+    }
+
+    @Data
+    public static class Accounts {
+        private LoadMode loadMode = LoadMode.SNAPSHOT;
+        private int pageSize = 500;
+        // 일괄 등록/가져오기 시 한 트랜잭션에 저장하는 계정 수 (JDBC 배치는 hibernate.jdbc.batch_size 단위)
+        private int bulkChunkSize = 1000;
+        // 무효화 알림을 놓친 노드도 이 시간이 지나면 스냅샷을 다시 읽는다
+        private Duration snapshotTtl = Duration.ofMinutes(5);
+        // 계정 변경을 다른 노드에 알리는 Redis 채널
+        private String invalidationChannel = "posting:accounts:invalidated";
+    }
+
+    @Data
+    public static class Spread {
+        private boolean enabled = false;
+        private Duration tick = Duration.ofSeconds(1);
+        private int wheelSize = 1024;
+        // 작업 이름 -> 창 길이. 창 시작 시각 + (계정별 결정적 지터) 에 게시된다
+        private Map<String, Duration> windows = new LinkedHashMap<>(Map.of("daily-gpt", Duration.ofMinutes(90)));
+        // 창이 끝난 뒤 재시도 대기 작업을 한 번 더 처리하기까지의 여유
+        private Duration sweepGrace = Duration.ofMinutes(5);
+    }
+
+    public enum OverlapPolicy {
+        // 같은 작업이 실행 중이면 이번 실행을 건너뛴다 (기본)
+        SKIP,
+        // 실행 중인 작업이 끝나면 한 번 더 실행한다. 대기는 작업당 하나로 합쳐진다
+        QUEUE
+    }
+
+    @Data
+    public static class Runs {
+        private OverlapPolicy overlap = OverlapPolicy.SKIP;
+        // 작업 이름 -> 겹침 정책 (없으면 overlap)
+        private Map<String, OverlapPolicy> overlaps = new LinkedHashMap<>();
+        // 실행 전체 마감. 넘기면 남은 게시를 취소한다
+        private Duration deadline = Duration.ofHours(2);
+        // 작업 이름 -> 마감 (없으면 deadline)
+        private Map<String, Duration> deadlines = new LinkedHashMap<>(Map.of("daily-post", Duration.ofMinutes(170)));
+        // 종료 시 진행 중인 게시가 끝나기를 기다리는 최대 시간
+        private Duration shutdownDrain = Duration.ofSeconds(25);
+        // 조회용으로 보관하는 끝난 실행 수
+        private int history = 50;
+
+        public OverlapPolicy overlapOf(String job) {
+            return overlaps.getOrDefault(job, overlap);
+        }
+
+        public Duration deadlineOf(String job) {
+            return deadlines.getOrDefault(job, deadline);
+        }
+    }
+
+    @Data
+    public static class Dedup {
+        private boolean enabled = true;
+        // 이 기간 안의 게시물과 비교한다 (Redis 키 만료와 Bloom 필터 세대 교체 주기)
+        private Duration window = Duration.ofDays(3);
+        // SimHash 해밍 거리가 이 값 이하면 거의 같은 문장으로 본다
+        private int maxDistance = 10;
+        // 서명을 나누는 구간 수. 거리 bands - 1 이하는 반드시 찾으므로 max-distance 보다 커야 하고,
+        // 작게 설정해도 max-distance + 1 로 올려 쓴다
+        private int bands = 11;
+        // 범위(계정/토픽)마다 남기는 최근 서명 수. 계정이 많은 토픽에서도 확인 비용과 메모리를 고정한다
+        private int maxEntriesPerScope = 512;
+        // 중복이면 캐시 없이 다시 생성해 보는 횟수. 다 써도 중복이면 게시하지 않는다
+        private int maxRegenerations = 2;
+        // 로컬 Bloom 필터 세대당 예상 키 수(기간 안 게시 수 x 범위 2 x bands 정도)와 오탐률
+        private long expectedKeys = 2_000_000;
+        private double falsePositiveRate = 0.01;
+        private String keyPrefix = "posting:dedup:";
+    }
+
+    public enum PostFormat {
+        TEXT,
+        // 이미지 한 장 + 문장
+        IMAGE,
+        // 이미지 여러 장(media.carousel-size) + 문장
+        CAROUSEL
+    }
+
+    @Data
+    public static class Media {
+        private PostFormat format = PostFormat.TEXT;
+        // 2 ~ 20 (Threads 캐러셀 제한)
+        private int carouselSize = 3;
+        // 프롬프트마다 만들어 두는 서로 다른 이미지 수. 날짜별로 돌아가며 쓰고, 한 번 만든 이미지는 다시 생성하지 않는다
+        private int variants = 7;
+        // 계정 프롬프트 앞에 붙는 이미지 생성 지시
+        private String imagePrompt = "다음 주제의 SNS 게시물에 어울리는 글자 없는 일러스트: ";
+        // Threads 서버가 이미지를 가져갈 이 서버의 공개 주소 (예: https://bot.example.com). 비어 있으면 TEXT 로 게시
+        private String publicBaseUrl = "";
+        // 이 노드에 직접 닿는 공개 주소 (예: https://bot-1.example.com). 설정하면 publicBaseUrl 대신 쓴다.
+        // 이미지는 만든 노드의 디스크에만 있으므로, 노드가 여럿이면 이 값을 노드마다 주거나
+        // publicBaseUrl 앞단에서 /media 요청을 만든 노드로 보내야 한다 (아니면 다른 노드가 404 를 준다)
+        private String nodeBaseUrl = "";
+        private String storeDir = "media-cache";
+        // 디스크 한도. 넘으면 가장 오래 쓰지 않은 이미지부터 지운다
+        private DataSize maxDiskSize = DataSize.ofGigabytes(2);
+        // 마지막 사용 후 이 시간 동안은 지우지 않는다 (Threads 가 컨테이너 처리 중에 가져갈 수 있도록)
+        private Duration minRetention = Duration.ofMinutes(30);
+        // 이미지 컨테이너가 FINISHED 가 될 때까지 상태를 확인하는 간격과 최대 대기
+        private Duration containerPollInterval = Duration.ofSeconds(3);
+        private Duration containerReadyTimeout = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class History {
+        private boolean enabled = true;
+        // 기록 대기 큐 크기. 가득 차면 게시를 막지 않고 이력을 버린다
+        private int queueCapacity = 10_000;
+        // INSERT 한 번에 묶는 행 수. 이만큼 쌓이면 flush 주기를 기다리지 않는다
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        // 이보다 오래된 일 파티션은 통째로 지운다 (0 이면 보관)
+        private Duration retention = Duration.ofDays(30);
+        // 미리 만들어 두는 앞날 파티션 수
+        private int partitionsAhead = 7;
+    }
+
+    @Data
+    public static class ReactiveDb {
+        private boolean enabled = false;
+        // 게시글 카운트 flush 시 동시에 보낼 UPDATE 수
+        private int flushConcurrency = 8;
+    }
+
+    @Data
+    public static class Jobs {
+        private int batchSize = 50;
+        private Duration lease = Duration.ofMinutes(10);
+        private int maxAttempts = 3;
+        // 마지막 시도 중 임대가 만료된 RUNNING 작업을 FAILED 로 정리하는 주기
+        private Duration reapInterval = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class AccountQuota {
+        private int maxPosts = 0;
+        private Duration window = Duration.ofHours(1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lsm.idea_print.config;
+
+import com.lsm.idea_print.repository.ReactiveMetaTokenRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+/**
+ * 선택적 R2DBC 경로. R2DBC 자동 설정은 IdeaPrintApplication 에서 꺼 두고 여기서만 켠다.
+ * 기본(JPA) 구성에는 ConnectionFactory 가 없어 spring.r2dbc.url 없이도 뜬다.
+ *
+ * R2dbcTransactionManager 는 등록하지 않는다. TransactionManager 빈이 생기면 JPA 트랜잭션 매니저 자동 설정이 빠지기 때문이고,
+ * 리액티브 저장소의 쓰기는 모두 단일 UPDATE 라 auto-commit 으로 충분하다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "posting.reactive-db.enabled", havingValue = "true")
+@EnableConfigurationProperties(R2dbcProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveMetaTokenRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = ReactiveMetaTokenRepository.class))
+public class ReactiveDbConfig extends AbstractR2dbcConfiguration {
+
+    private final R2dbcProperties properties;
+
+    public ReactiveDbConfig(R2dbcProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    @Override
+    public ConnectionFactory connectionFactory() {
+        return ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.lsm.idea_print.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "resilience")
+public class ResilienceProperties {
+
+    private Upstream openai = new Upstream(Duration.ofSeconds(60));
+    private Upstream threads = new Upstream(Duration.ofSeconds(20));
+
+    @Data
+    public static class Upstream {
+        // 호출 한 번의 제한 시간
+        private Duration timeout;
+
+        // 재시도 (지수 백오프 + full jitter, 429 는 Retry-After 우선)
+        private int maxRetries = 3;
+        private Duration initialBackoff = Duration.ofMillis(500);
+        private Duration maxBackoff = Duration.ofSeconds(30);
+
+        // 서킷 브레이커: 연속 실패가 임계치를 넘으면 open-duration 동안 즉시 실패
+        private int failureThreshold = 10;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 2;
+
+        // AIMD 동시 실행 한도: 성공하면 천천히 늘리고 429/5xx/타임아웃이면 곱으로 줄인다
+        private int initialConcurrency = 16;
+        private int minConcurrency = 1;
+        private int maxConcurrency = 64;
+        private double decreaseFactor = 0.5;
+
+        public Upstream() {
+        }
+
+        public Upstream(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
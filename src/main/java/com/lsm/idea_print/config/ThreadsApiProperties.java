@@ -0,0 +1,45 @@
+package com.lsm.idea_print.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "threads.api")
+public class ThreadsApiProperties {
+    private String baseUrl = "https://graph.threads.net/v1.0";
+
+    // 커넥션 풀
+    private int maxConnections = 64;
+    private int pendingAcquireMaxCount = 1000;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(30);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictInterval = Duration.ofSeconds(15);
+
+    // 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration responseTimeout = Duration.ofSeconds(20);
+
+    // 스케줄 실행 전에 미리 열어둘 커넥션 수
+    private int prewarmConnections = 8;
+
+    // 장기 토큰 수명 관리
+    private Token token = new Token();
+
+    @Data
+    public static class Token {
+        private String refreshUrl = "https://graph.threads.net/refresh_access_token";
+        // 만료까지 이 기간보다 적게 남으면 스케줄러가 미리 갱신
+        private Duration refreshBefore = Duration.ofDays(7);
+        // Meta 는 발급 24시간이 지나지 않은 장기 토큰의 갱신을 거절하므로 그동안은 후보에서 뺀다.
+        // 만료 시각을 모르는 새 토큰은 이 기간이 지나면 바로 갱신 대상이 된다
+        private Duration minTokenAge = Duration.ofHours(24);
+        private String refreshCron = "0 30 3 * * *";
+        // true 면 문장 생성 전에 /me 로 토큰을 한 번 확인 (계정당 Threads 호출 1회 추가)
+        private boolean preflightValidate = false;
+    }
+}
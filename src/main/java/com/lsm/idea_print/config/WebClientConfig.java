@@ -1,14 +1,23 @@
 package com.lsm.idea_print.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebClientConfig {
 
+    // 빌더는 baseUrl/헤더 설정으로 상태가 바뀌므로 주입받는 곳마다 새 인스턴스를 준다.
+    // 부트 커스터마이저(관측/메트릭 등)는 그대로 적용한다.
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public WebClient.Builder webClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,26 @@
 package com.lsm.idea_print.controller;
 
+import com.lsm.idea_print.dto.request.BatchRequestIdsRequest;
+import com.lsm.idea_print.dto.request.BulkUpdateAccountRequest;
 import com.lsm.idea_print.dto.request.SaveAccessTokenRequest;
+import com.lsm.idea_print.dto.response.AccountImportResult;
+import com.lsm.idea_print.service.AccountBulkService;
 import com.lsm.idea_print.service.MetaTokenService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/token")
 public class AccessTokenGenerateController {
     private final MetaTokenService metaTokenService;
+    private final AccountBulkService accountBulkService;
 
     @PostMapping("/manual-save")
     public Mono<ResponseEntity<String>> saveManually(@RequestBody SaveAccessTokenRequest request) {
@@ -28,4 +37,37 @@ public class AccessTokenGenerateController {
     public ResponseEntity<Long> updateAccount(@PathVariable Long id, @RequestBody SaveAccessTokenRequest request){
         return ResponseEntity.ok(metaTokenService.updateAccount(id, request));
     }
+
+    // 일괄 등록. 요청 순서대로 생성된 id 를 돌려준다
+    @PostMapping("/save_account/bulk")
+    public ResponseEntity<List<Long>> saveAccounts(@RequestBody List<SaveAccessTokenRequest> requests) {
+        return ResponseEntity.ok(accountBulkService.createAll(requests));
+    }
+
+    // 일괄 수정. 비어 있는 필드는 기존 값을 유지하고, 수정된 계정 수를 돌려준다
+    @PatchMapping("/save_account/bulk")
+    public ResponseEntity<Integer> updateAccounts(@RequestBody List<BulkUpdateAccountRequest> requests) {
+        return ResponseEntity.ok(accountBulkService.updateAll(requests));
+    }
+
+    @PostMapping("/save_account/bulk/delete")
+    public ResponseEntity<Integer> deleteAccounts(@RequestBody BatchRequestIdsRequest request) {
+        return ResponseEntity.ok(accountBulkService.deleteAll(request.getIds()));
+    }
+
+    @PostMapping("/save_account/bulk/reset-count")
+    public ResponseEntity<Integer> resetPostCounts(@RequestBody BatchRequestIdsRequest request) {
+        return ResponseEntity.ok(accountBulkService.resetPostCounts(request.getIds()));
+    }
+
+    // 요청 본문을 한 번에 올리지 않고 줄 단위로 읽으며 청크마다 저장한다
+    @PostMapping(value = "/save_account/import", consumes = "text/csv")
+    public ResponseEntity<AccountImportResult> importCsv(InputStream body) {
+        return ResponseEntity.ok(accountBulkService.importCsv(body));
+    }
+
+    @PostMapping(value = "/save_account/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<AccountImportResult> importNdjson(InputStream body) {
+        return ResponseEntity.ok(accountBulkService.importNdjson(body));
+    }
 }
@@ -0,0 +1,69 @@
+package com.lsm.idea_print.controller;
+
+import com.lsm.idea_print.dto.MediaAsset;
+import com.lsm.idea_print.service.MediaStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.apache.catalina.Globals;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/media")
+public class MediaController {
+    private final MediaStore mediaStore;
+
+    /**
+     * Threads 서버가 image_url 로 가져가는 이미지.
+     * 내용 주소라 같은 URL 의 내용은 바뀌지 않으므로 오래 캐시하게 한다.
+     * 이 노드가 만든 이미지만 있으므로 URL 은 만든 노드 주소로 나간다 (posting.media.node-base-url).
+     * Tomcat sendfile 을 쓸 수 있으면 본문을 쓰지 않고 파일 경로만 넘겨 커널이 파일을 소켓으로 바로 보내게 한다.
+     */
+    @GetMapping("/{hash:[0-9a-f]{64}}.png")
+    public void media(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<MediaAsset> found = mediaStore.find(hash);
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        MediaAsset asset = found.get();
+        String etag = "\"" + asset.hash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(MediaType.IMAGE_PNG_VALUE);
+        response.setContentLengthLong(asset.size());
+
+        if (Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, asset.path().toString());
+            request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, 0L);
+            request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, asset.size());
+            return;
+        }
+        // sendfile 을 못 쓰는 커넥터면 FileChannel.transferTo 로 복사한다
+        try (FileChannel file = FileChannel.open(asset.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < asset.size()) {
+                position += file.transferTo(position, asset.size() - position, out);
+            }
+        }
+    }
+}
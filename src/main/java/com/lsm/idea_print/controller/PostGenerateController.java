@@ -2,28 +2,125 @@ package com.lsm.idea_print.controller;
 
 import com.lsm.idea_print.dto.ApiResponse;
 import com.lsm.idea_print.dto.request.SaveAccessTokenRequest;
+import com.lsm.idea_print.dto.response.CompletionCacheStats;
 import com.lsm.idea_print.dto.response.PostResultResponse;
+import com.lsm.idea_print.dto.response.RunStatus;
+import com.lsm.idea_print.dto.response.SpreadQueueStatus;
+import com.lsm.idea_print.service.CompletionCache;
 import com.lsm.idea_print.service.MetaTokenService;
+import com.lsm.idea_print.service.PostRunTracker;
+import com.lsm.idea_print.service.PostingWindowScheduler;
+import com.lsm.idea_print.service.RunCoordinator;
 import com.lsm.idea_print.service.ThreadsPostService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Supplier;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/post")
 @RequiredArgsConstructor
 public class PostGenerateController {
 
     private final ThreadsPostService threadsPostService;
+    private final CompletionCache completionCache;
+    private final PostingWindowScheduler windowScheduler;
+    private final RunCoordinator runCoordinator;
 
 
+    // 수동 실행도 스케줄 실행과 같은 작업 이름을 써서 둘이 겹쳐 같은 계정에 두 번 게시하지 않게 한다
+    private static final String DAILY_JOB = "daily-post";
+    private static final String OFFLINE_PUBLISH_JOB = "offline-publish";
+
     @PostMapping("/run")
     public Mono<ApiResponse<List<PostResultResponse>>> postDailyGptContent() {
-        return threadsPostService.postDailyContentForAllAccounts();
+        return Mono.defer(() -> runCoordinator.submitWatched(DAILY_JOB,
+                        run -> threadsPostService.streamDailyContentForAllAccounts())
+                .map(run -> run.results().collectList()
+                        .map(results -> ApiResponse.success("모든 계정에 게시 완료", results)))
+                .orElseGet(() -> Mono.just(ApiResponse.error(notStarted(DAILY_JOB)))));
+    }
+
+    // 첫 이벤트(run)로 실행 정보를 보내고, 계정별 결과를 완료 즉시 SSE 로 전송한 뒤 마지막에 summary 이벤트를 보낸다
+    // publishAt 을 주면 컨테이너는 미리 만들어두고 게시만 그 시각에 한다
+    @PostMapping(value = "/run/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamDailyGptContent(@RequestParam(required = false) Instant publishAt) {
+        return runEvents(DAILY_JOB, () -> threadsPostService.streamDailyContentForAllAccounts(publishAt))
+                .map(event -> ServerSentEvent.builder(event).event(eventName(event)).build());
+    }
+
+    // NDJSON 모드: 첫 줄은 실행 정보, 이후 한 줄에 결과 하나, 마지막 줄은 요약
+    @PostMapping(value = "/run/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamDailyGptContentAsNdjson(@RequestParam(required = false) Instant publishAt) {
+        return runEvents(DAILY_JOB, () -> threadsPostService.streamDailyContentForAllAccounts(publishAt));
+    }
+
+    // 오프라인 모드: OpenAI 배치 API 로 전체 계정 문장을 제출하고 배치 id 를 돌려준다
+    @PostMapping("/run/offline")
+    public Mono<ApiResponse<String>> submitOfflineRun() {
+        return threadsPostService.submitOfflineDailyRun()
+                .map(batchId -> ApiResponse.success("배치 제출 완료", batchId));
+    }
+
+    // 배치가 끝나면 결과로 게시하고 계정별 결과를 NDJSON 으로 흘려보낸다
+    @PostMapping(value = "/run/offline/{batchId}/publish", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> publishOfflineRun(@PathVariable String batchId) {
+        return runEvents(OFFLINE_PUBLISH_JOB, () -> threadsPostService.publishOfflineDailyRun(batchId));
+    }
+
+    /**
+     * 실행은 RunCoordinator 에서 돌고 응답은 그 결과를 따라 보기만 한다.
+     * 클라이언트가 끊겨도 게시는 계속되며, 첫 이벤트의 실행 id 로 /api/runs/{runId} 에서 진행 현황을 이어 볼 수 있다.
+     */
+    private Flux<Object> runEvents(String job, Supplier<Flux<PostResultResponse>> pipeline) {
+        return Flux.defer(() -> runCoordinator.submitWatched(job, run -> pipeline.get())
+                .map(run -> {
+                    PostRunTracker tracker = new PostRunTracker();
+                    return Flux.<Object>just(run.status())
+                            .concatWith(run.results().map(tracker::record))
+                            .concatWith(Mono.fromSupplier(tracker::summary));
+                })
+                .orElseGet(() -> Flux.just(ApiResponse.error(notStarted(job)))));
+    }
+
+    private static String eventName(Object event) {
+        if (event instanceof RunStatus) {
+            return "run";
+        }
+        if (event instanceof PostResultResponse) {
+            return "result";
+        }
+        return event instanceof ApiResponse<?> ? "error" : "summary";
+    }
+
+    private static String notStarted(String job) {
+        return "같은 작업이 실행 중이거나 종료 중이라 시작하지 않았습니다: " + job;
     }
+
+    // 타이밍 휠 예약 현황: 작업별 대기 수와 다가오는 구간별 예약 수 (예: ?horizon=PT2H&slot=PT5M)
+    @GetMapping("/schedule/slots")
+    public ApiResponse<SpreadQueueStatus> scheduleSlots(
+            @RequestParam(defaultValue = "PT2H") Duration horizon,
+            @RequestParam(defaultValue = "PT5M") Duration slot) {
+        return ApiResponse.success("예약 현황", windowScheduler.status(horizon, slot));
+    }
+
+    // GPT 완성 캐시 적중/미스/병합 통계
+    @GetMapping("/completion-cache/stats")
+    public ApiResponse<CompletionCacheStats> completionCacheStats() {
+        return ApiResponse.success("캐시 통계", completionCache.stats());
+    }
+
     // 사용자 정보 확인 엔드포인트 추가
     @GetMapping("/user-info")
     public Mono<ResponseEntity<Object>> getUserInfo(@RequestParam String accessToken) {
@@ -31,7 +128,7 @@ public class PostGenerateController {
                 .map(response -> ResponseEntity.ok((Object) response))
                 .onErrorResume(error -> {
                     String errorMessage = "❌ 사용자 정보 가져오기 실패: " + error.getMessage();
-                    System.err.println(errorMessage);
+                    log.warn("사용자 정보 가져오기 실패 - {}", error.getMessage());
                     return Mono.just(ResponseEntity.badRequest().body(errorMessage));
                 });
     }
@@ -0,0 +1,34 @@
+package com.lsm.idea_print.controller;
+
+import com.lsm.idea_print.dto.ApiResponse;
+import com.lsm.idea_print.dto.response.PostHistoryPage;
+import com.lsm.idea_print.service.PostHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/post/history")
+public class PostHistoryController {
+    private final PostHistoryService postHistoryService;
+
+    // 게시 시도 이력 최신순. 응답의 nextCursor 를 cursor 로 넘겨 다음 페이지를 읽는다
+    @GetMapping
+    public ResponseEntity<ApiResponse<PostHistoryPage>> history(
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(defaultValue = "false") boolean failuresOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("게시 이력",
+                    postHistoryService.page(accountId, failuresOnly, since, cursor, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lsm.idea_print.controller;
+
+import com.lsm.idea_print.dto.ApiResponse;
+import com.lsm.idea_print.dto.response.RunStatus;
+import com.lsm.idea_print.service.RunCoordinator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/runs")
+public class RunController {
+    private final RunCoordinator runCoordinator;
+
+    // 실행 중인 스케줄 작업 진행 현황 (?recent=true 면 끝난 실행도 포함)
+    @GetMapping
+    public ApiResponse<List<RunStatus>> runs(@RequestParam(defaultValue = "false") boolean recent) {
+        return ApiResponse.success("실행 현황", recent ? runCoordinator.recentRuns() : runCoordinator.activeRuns());
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<ApiResponse<RunStatus>> run(@PathVariable String runId) {
+        return runCoordinator.find(runId)
+                .map(status -> ResponseEntity.ok(ApiResponse.success("실행 현황", status)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("실행 없음: " + runId)));
+    }
+
+    // 실행 취소. 진행 중인 게시 요청도 함께 취소되고, 남은 post_job 작업은 재시작 시 이어서 처리된다
+    @DeleteMapping("/{runId}")
+    public ResponseEntity<ApiResponse<RunStatus>> cancel(@PathVariable String runId) {
+        if (!runCoordinator.cancel(runId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("실행 중인 실행 없음: " + runId));
+        }
+        return ResponseEntity.ok(ApiResponse.success("취소 완료", runCoordinator.find(runId).orElse(null)));
+    }
+}
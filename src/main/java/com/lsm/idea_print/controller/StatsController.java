@@ -0,0 +1,43 @@
+package com.lsm.idea_print.controller;
+
+import com.lsm.idea_print.dto.ApiResponse;
+import com.lsm.idea_print.dto.response.AccountPostCount;
+import com.lsm.idea_print.dto.response.DailyPostStats;
+import com.lsm.idea_print.dto.response.PostStatsSummary;
+import com.lsm.idea_print.dto.response.TopicPostStats;
+import com.lsm.idea_print.service.PostStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stats")
+public class StatsController {
+    private final PostStatsService postStatsService;
+
+    // 전체 계정 수 / 누적 게시 수 / 오늘 게시 수
+    @GetMapping("/summary")
+    public ApiResponse<PostStatsSummary> summary() {
+        return ApiResponse.success("게시 통계", postStatsService.summary());
+    }
+
+    @GetMapping("/topics")
+    public ApiResponse<List<TopicPostStats>> topics() {
+        return ApiResponse.success("토픽별 게시 통계", postStatsService.topics());
+    }
+
+    @GetMapping("/daily")
+    public ApiResponse<List<DailyPostStats>> daily(@RequestParam(defaultValue = "30") int days,
+                                                   @RequestParam(required = false) String topic) {
+        return ApiResponse.success("날짜별 게시 통계", postStatsService.daily(days, topic));
+    }
+
+    // 게시 수 상위 계정 (topic 을 주면 그 토픽 안에서)
+    @GetMapping("/top")
+    public ApiResponse<List<AccountPostCount>> top(@RequestParam(defaultValue = "10") int limit,
+                                                   @RequestParam(required = false) String topic) {
+        return ApiResponse.success("게시 수 상위 계정", postStatsService.top(limit, topic));
+    }
+}
@@ -0,0 +1,23 @@
+package com.lsm.idea_print.dto;
+
+import com.lsm.idea_print.entity.TokenStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시에 필요한 계정 정보만 담은 가벼운 불변 레코드.
+ * 설정 파일(threads.accounts)에서 온 계정은 id 가 null 이다.
+ */
+public record AccountSnapshot(Long id, String userId, String accessToken, String prompt, String topicName,
+                              TokenStatus tokenStatus, LocalDateTime tokenExpiresAt) {
+
+    // 죽은 토큰/만료된 토큰 계정은 문장을 생성하기 전에 걸러낸다
+    public boolean isPostable() {
+        return tokenStatus != TokenStatus.INVALID
+                && (tokenExpiresAt == null || tokenExpiresAt.isAfter(LocalDateTime.now()));
+    }
+
+    public AccountSnapshot withAccessToken(String newAccessToken, LocalDateTime newExpiresAt) {
+        return new AccountSnapshot(id, userId, newAccessToken, prompt, topicName, TokenStatus.ACTIVE, newExpiresAt);
+    }
+}
@@ -0,0 +1,9 @@
+package com.lsm.idea_print.dto;
+
+import java.nio.file.Path;
+
+/**
+ * MediaStore 에 저장된 파일 하나. hash 는 생성 파라미터의 SHA-256 (파일 이름이자 공개 URL 의 키).
+ */
+public record MediaAsset(String hash, Path path, long size) {
+}
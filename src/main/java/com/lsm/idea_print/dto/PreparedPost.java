@@ -0,0 +1,9 @@
+package com.lsm.idea_print.dto;
+
+import java.time.Instant;
+
+/**
+ * 컨테이너 생성까지 끝나 threads_publish 만 남은 게시글.
+ */
+public record PreparedPost(String userId, String accessToken, String creationId, Instant preparedAt) {
+}
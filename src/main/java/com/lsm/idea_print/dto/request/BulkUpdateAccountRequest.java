@@ -0,0 +1,12 @@
+package com.lsm.idea_print.dto.request;
+
+import lombok.Data;
+
+// null 인 필드는 기존 값을 유지한다
+@Data
+public class BulkUpdateAccountRequest {
+    private Long id;
+    private String userId;
+    private String accessToken;
+    private String prompt;
+}
@@ -0,0 +1,13 @@
+package com.lsm.idea_print.dto.response;
+
+import java.util.List;
+
+/**
+ * 계정 일괄 가져오기 결과.
+ *
+ * @param imported 저장된 계정 수
+ * @param rejected 형식 오류로 건너뛴 줄 수
+ * @param errors   건너뛴 줄의 사유 (앞쪽 일부만)
+ */
+public record AccountImportResult(long imported, long rejected, List<String> errors, long elapsedMillis) {
+}
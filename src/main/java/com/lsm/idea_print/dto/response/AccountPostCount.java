@@ -0,0 +1,8 @@
+package com.lsm.idea_print.dto.response;
+
+/**
+ * 계정별 게시 수 프로젝션 (순위/임계값 조회용, 엔티티를 올리지 않는다).
+ * postCount 는 PostCountAggregator 의 flush 주기만큼 늦을 수 있다.
+ */
+public record AccountPostCount(Long id, String userId, String topicName, Integer postCount) {
+}
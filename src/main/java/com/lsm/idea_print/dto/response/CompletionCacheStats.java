@@ -0,0 +1,13 @@
+package com.lsm.idea_print.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompletionCacheStats {
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private int size;
+}
@@ -0,0 +1,9 @@
+package com.lsm.idea_print.dto.response;
+
+import java.time.LocalDate;
+
+/**
+ * 날짜별 게시 수 (post_stats_daily). 게시가 없던 날은 빠진다.
+ */
+public record DailyPostStats(LocalDate day, long posts) {
+}
@@ -0,0 +1,11 @@
+package com.lsm.idea_print.dto.response;
+
+/**
+ * 스트리밍 생성 결과.
+ *
+ * @param firstTokenMillis 요청 시작부터 첫 토큰까지 걸린 시간
+ * @param totalMillis      요청 시작부터 생성 종료(또는 예산 초과로 중단)까지 걸린 시간
+ * @param truncated        길이 예산을 넘어 중간에 끊었는지 여부
+ */
+public record GenerationResult(String text, long firstTokenMillis, long totalMillis, boolean truncated) {
+}
@@ -0,0 +1,20 @@
+package com.lsm.idea_print.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OpenAiBatchResponse(
+        String id,
+        String status,
+        @JsonProperty("output_file_id") String outputFileId,
+        @JsonProperty("error_file_id") String errorFileId) {
+
+    public boolean isCompleted() {
+        return "completed".equals(status);
+    }
+
+    public boolean isTerminalFailure() {
+        return "failed".equals(status) || "expired".equals(status) || "cancelled".equals(status);
+    }
+}
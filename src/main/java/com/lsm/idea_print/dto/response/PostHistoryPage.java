@@ -0,0 +1,11 @@
+package com.lsm.idea_print.dto.response;
+
+import com.lsm.idea_print.entity.PostHistory;
+
+import java.util.List;
+
+/**
+ * 게시 이력 한 페이지 (최신순). nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 읽고, 마지막 페이지면 null 이다.
+ */
+public record PostHistoryPage(List<PostHistory> items, String nextCursor) {
+}
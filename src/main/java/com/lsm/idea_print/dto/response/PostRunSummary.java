@@ -0,0 +1,17 @@
+package com.lsm.idea_print.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostRunSummary {
+    private long total;
+    private long successCount;
+    private long failureCount;
+    private long elapsedMillis;
+
+    public boolean isAllSuccess() {
+        return total > 0 && failureCount == 0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.lsm.idea_print.dto.response;
+
+/**
+ * 전체 요약. 토픽별 집계 행의 합이라 계정 수와 상관없이 같은 비용으로 계산된다.
+ */
+public record PostStatsSummary(long accounts, long posts, long postsToday, int topics) {
+}
@@ -0,0 +1,27 @@
+package com.lsm.idea_print.dto.response;
+
+import java.time.Instant;
+
+/**
+ * 스케줄 작업 실행 현황.
+ *
+ * @param total      게시 대상 계정 수 (아직 모르거나 계정 단위 집계가 없는 작업이면 null)
+ * @param done       성공한 게시 수
+ * @param failed     실패한 게시 수
+ * @param inFlight   시작했지만 아직 끝나지 않은 게시 수
+ * @param etaSeconds 지금까지의 처리 속도로 추정한 남은 시간 (추정할 수 없으면 null)
+ */
+public record RunStatus(String id, String job, State state, Instant startedAt, Instant deadline,
+                        Instant finishedAt, Long total, long done, long failed, long inFlight,
+                        Long etaSeconds, long elapsedMillis) {
+
+    public enum State {
+        RUNNING,
+        // 종료 중: 새 계정은 시작하지 않고 진행 중인 게시만 마무리한다
+        DRAINING,
+        COMPLETED,
+        FAILED,
+        CANCELLED,
+        TIMED_OUT
+    }
+}
@@ -0,0 +1,18 @@
+package com.lsm.idea_print.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 타이밍 휠 대기 현황.
+ *
+ * @param pending 아직 실행되지 않은 예약 수
+ * @param byJob   작업 이름별 예약 수
+ * @param slots   다가오는 구간별 예약 수 (비어 있는 구간은 생략)
+ */
+public record SpreadQueueStatus(int pending, Map<String, Integer> byJob, List<Slot> slots) {
+
+    public record Slot(Instant start, int count) {
+    }
+}
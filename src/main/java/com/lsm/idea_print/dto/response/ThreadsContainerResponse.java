@@ -0,0 +1,7 @@
+package com.lsm.idea_print.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ThreadsContainerResponse(String id) {
+}
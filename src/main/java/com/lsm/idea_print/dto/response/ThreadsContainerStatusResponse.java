@@ -0,0 +1,24 @@
+package com.lsm.idea_print.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 미디어 컨테이너 상태 (IN_PROGRESS, FINISHED, ERROR, EXPIRED, PUBLISHED).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ThreadsContainerStatusResponse(String id, String status,
+                                             @JsonProperty("error_message") String errorMessage) {
+
+    public boolean isFinished() {
+        return "FINISHED".equals(status);
+    }
+
+    public boolean isPublished() {
+        return "PUBLISHED".equals(status);
+    }
+
+    public boolean isFailed() {
+        return "ERROR".equals(status) || "EXPIRED".equals(status);
+    }
+}
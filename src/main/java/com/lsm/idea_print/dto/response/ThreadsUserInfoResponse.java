@@ -0,0 +1,12 @@
+package com.lsm.idea_print.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ThreadsUserInfoResponse(
+        String id,
+        String username,
+        String name,
+        @JsonProperty("threads_profile_picture_url") String threadsProfilePictureUrl) {
+}
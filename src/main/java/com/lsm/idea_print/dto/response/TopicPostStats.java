@@ -0,0 +1,7 @@
+package com.lsm.idea_print.dto.response;
+
+/**
+ * 토픽별 집계 (post_stats_topic). 토픽이 없는 계정은 topicId 0, topicName null 이다.
+ */
+public record TopicPostStats(Long topicId, String topicName, long accounts, long posts) {
+}
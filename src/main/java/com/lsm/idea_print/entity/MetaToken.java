@@ -3,6 +3,7 @@ package com.lsm.idea_print.entity;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -14,16 +15,19 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Table(name = "meta_token")
 public class MetaToken extends BaseTimeEntity{
+    // IDENTITY 는 INSERT 마다 키를 돌려받아야 해서 JDBC 배치가 꺼진다.
+    // 시퀀스에서 50개씩 미리 할당받아 대량 저장 시 INSERT 를 배치로 묶는다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meta_token_seq")
+    @SequenceGenerator(name = "meta_token_seq", sequenceName = "meta_token_seq", allocationSize = 50)
     private Long id;
 
     private String userId;
 
     private String accessToken;
-//
-//    @Column(columnDefinition = "TEXT")
-//    private String prompt;
+
+    @Column(columnDefinition = "TEXT")
+    private String prompt;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "content_topic_id")
@@ -35,18 +39,19 @@ public class MetaToken extends BaseTimeEntity{
     @Column(name = "account_description")
     private String accountDescription;
 
+    // 액세스 토큰 만료 시각 (모르면 null)
+    @Column(name = "token_expires_at")
+    private LocalDateTime tokenExpiresAt;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'ACTIVE'")
+    @Column(name = "token_status", nullable = false)
+    private TokenStatus tokenStatus = TokenStatus.ACTIVE;
+
     // 게시글 카운트 필드 추가 (기본값 0)
+    // 증가는 PostCountAggregator, 초기화는 AccountBulkService 의 UPDATE 로만 반영되므로 엔티티 저장 시에는 덮어쓰지 않는다.
     @Builder.Default
-    @Column(name = "post_count", nullable = false)
+    @Column(name = "post_count", nullable = false, updatable = false)
     private Integer postCount = 0;
-
-    // 게시글 카운트 증가 메서드
-    public void incrementPostCount() {
-        this.postCount++;
-    }
-
-    // 게시글 카운트 초기화 메서드 (필요시 사용)
-    public void resetPostCount() {
-        this.postCount = 0;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.lsm.idea_print.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC 용 meta_token 행 매핑. JPA 엔티티(MetaToken)와 같은 테이블을 읽는다.
+ * 생성/감사 필드는 JPA 쪽에서만 다루므로 여기서는 조회와 부분 UPDATE 에만 쓴다.
+ */
+@Table("meta_token")
+public record MetaTokenRow(
+        @Id Long id,
+        @Column("user_id") String userId,
+        @Column("access_token") String accessToken,
+        @Column("prompt") String prompt,
+        @Column("content_topic_id") Long contentTopicId,
+        @Column("token_status") TokenStatus tokenStatus,
+        @Column("token_expires_at") LocalDateTime tokenExpiresAt,
+        @Column("post_count") Integer postCount) {
+}
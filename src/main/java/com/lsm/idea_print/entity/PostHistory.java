@@ -0,0 +1,26 @@
+package com.lsm.idea_print.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * post_history 행 (게시 시도 하나). JdbcTemplate 로만 읽고 쓰며 JPA 엔티티가 아니다.
+ * 단계 소요 시간(ms)은 이번 시도에서 그 단계를 호출하지 않았으면 null 이다
+ * (캐시/변형 풀 적중으로 GPT 생성이 없었거나, 이전 시도의 컨테이너로 게시만 다시 한 경우).
+ */
+public record PostHistory(
+        Long id,
+        LocalDateTime attemptedAt,
+        Long accountId,
+        String userId,
+        String runId,
+        String job,
+        boolean success,
+        String creationId,
+        String mediaId,
+        String errorCause,
+        String errorMessage,
+        Integer generateMillis,
+        Integer createMillis,
+        Integer publishMillis,
+        int totalMillis) {
+}
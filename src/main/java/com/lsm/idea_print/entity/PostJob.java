@@ -0,0 +1,59 @@
+package com.lsm.idea_print.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 실행(run) 한 번에서 계정 하나에 대한 게시 작업.
+ * 여러 노드의 워커가 FOR UPDATE SKIP LOCKED 로 나눠 가져가며, 임대(lease)가 만료되면 다른 워커가 이어받는다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "post_job",
+        uniqueConstraints = @UniqueConstraint(name = "uk_post_job_idempotency_key", columnNames = "idempotency_key"),
+        indexes = @Index(name = "idx_post_job_run_status", columnList = "run_key, status"))
+public class PostJob extends BaseTimeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_key", nullable = false)
+    private String runKey;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    // run_key + 계정 id. 같은 실행을 여러 노드가 등록해도 한 행만 생긴다
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PostJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    // 작업 창 실행에서 이 계정을 게시할 시각 (창 없이 한꺼번에 처리하는 실행이면 null)
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    // 컨테이너까지 만든 뒤 중단되면 재개 시 이 id 로 게시만 다시 한다
+    @Column(name = "creation_id")
+    private String creationId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -0,0 +1,8 @@
+package com.lsm.idea_print.entity;
+
+public enum PostJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.lsm.idea_print.entity;
+
+public enum TokenStatus {
+    // 게시 가능
+    ACTIVE,
+    // 갱신 불가(만료/권한 철회 등). 게시 대상에서 제외된다
+    INVALID
+}
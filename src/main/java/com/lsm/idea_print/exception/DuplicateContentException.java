@@ -0,0 +1,10 @@
+package com.lsm.idea_print.exception;
+
+/**
+ * 재생성 횟수 안에 최근 게시물과 충분히 다른 문장을 얻지 못해 게시를 건너뛸 때 사용한다.
+ */
+public class DuplicateContentException extends RuntimeException {
+    public DuplicateContentException(String account, int attempts) {
+        super("최근 게시물과 거의 같은 문장 - 게시 생략 account=" + account + " attempts=" + attempts);
+    }
+}
@@ -0,0 +1,23 @@
+package com.lsm.idea_print.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatusCode;
+
+@Getter
+public class ThreadsApiException extends RuntimeException {
+    private final HttpStatusCode statusCode;
+    private final String responseBody;
+    // 429/503 응답의 Retry-After 헤더 (없으면 null)
+    private final String retryAfter;
+
+    public ThreadsApiException(String message, HttpStatusCode statusCode, String responseBody) {
+        this(message, statusCode, responseBody, null);
+    }
+
+    public ThreadsApiException(String message, HttpStatusCode statusCode, String responseBody, String retryAfter) {
+        super(message + ": " + statusCode + " - " + responseBody);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+        this.retryAfter = retryAfter;
+    }
+}
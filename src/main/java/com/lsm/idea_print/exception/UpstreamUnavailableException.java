@@ -0,0 +1,10 @@
+package com.lsm.idea_print.exception;
+
+/**
+ * 서킷 브레이커가 열려 있어 업스트림 호출을 시도하지 않고 바로 실패시킬 때 사용한다.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String upstream) {
+        super(upstream + " 서킷 브레이커 열림 - 호출 생략");
+    }
+}
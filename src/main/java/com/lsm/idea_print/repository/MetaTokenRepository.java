@@ -1,11 +1,19 @@
 package com.lsm.idea_print.repository;
 
+import com.lsm.idea_print.dto.AccountSnapshot;
+import com.lsm.idea_print.dto.response.AccountPostCount;
 import com.lsm.idea_print.entity.MetaToken;
 import com.lsm.idea_print.entity.ContentTopic;
+import com.lsm.idea_print.entity.TokenStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,26 +25,38 @@ public interface MetaTokenRepository extends JpaRepository<MetaToken, Long> {
      */
     Optional<MetaToken> findByUserId(String userId);
 
+    String POST_COUNT_SELECT = "SELECT new com.lsm.idea_print.dto.response.AccountPostCount(m.id, m.userId, t.name, m.postCount) " +
+            "FROM MetaToken m LEFT JOIN m.contentTopic t ";
+
     /**
-     * 게시글 카운트가 특정 값보다 작은 계정들 조회
+     * 게시글 카운트가 특정 값보다 작은 계정들 조회 (많은 순, post_count 인덱스 범위 스캔)
      */
-    List<MetaToken> findByPostCountLessThan(Integer postCount);
+    @Query(POST_COUNT_SELECT + "WHERE m.postCount < :postCount ORDER BY m.postCount DESC, m.id")
+    List<AccountPostCount> findByPostCountLessThan(Integer postCount, Limit limit);
 
     /**
-     * 게시글 카운트가 특정 값 이상인 계정들 조회
+     * 게시글 카운트가 특정 값 이상인 계정들 조회 (많은 순)
      */
-    List<MetaToken> findByPostCountGreaterThanEqual(Integer postCount);
+    @Query(POST_COUNT_SELECT + "WHERE m.postCount >= :postCount ORDER BY m.postCount DESC, m.id")
+    List<AccountPostCount> findByPostCountGreaterThanEqual(Integer postCount, Limit limit);
 
     /**
-     * 모든 계정의 게시글 카운트 합계 조회
+     * 모든 계정의 게시글 카운트 합계 조회 (트리거가 유지하는 토픽별 집계의 합)
      */
-    @Query("SELECT SUM(m.postCount) FROM MetaToken m")
+    @Query(value = "SELECT COALESCE(SUM(post_count), 0) FROM post_stats_topic", nativeQuery = true)
     Long getTotalPostCount();
 
     /**
-     * 게시글 카운트 기준으로 정렬하여 조회
+     * 게시글 카운트 상위 N 계정 (idx_meta_token_post_count 에서 앞쪽 N 행만 읽는다)
+     */
+    @Query(POST_COUNT_SELECT + "ORDER BY m.postCount DESC, m.id")
+    List<AccountPostCount> findTopByPostCount(Limit limit);
+
+    /**
+     * 토픽 안에서 게시글 카운트 상위 N 계정 (idx_meta_token_topic_post_count)
      */
-    List<MetaToken> findAllByOrderByPostCountDesc();
+    @Query(POST_COUNT_SELECT + "WHERE t.name = :topicName ORDER BY m.postCount DESC, m.id")
+    List<AccountPostCount> findTopByPostCountInTopic(String topicName, Limit limit);
 
     /**
      * userId 존재 여부 확인
@@ -58,4 +78,52 @@ public interface MetaTokenRepository extends JpaRepository<MetaToken, Long> {
      */
     @Query("SELECT m FROM MetaToken m WHERE m.contentTopic.isActive = true")
     List<MetaToken> findByActiveContentTopic();
-}
\ No newline at end of file
+
+    /**
+     * 게시용 계정 스냅샷 조회 (엔티티 대신 프로젝션, 토픽은 한 번에 조인)
+     */
+    @Query("SELECT new com.lsm.idea_print.dto.AccountSnapshot(m.id, m.userId, m.accessToken, m.prompt, t.name, m.tokenStatus, m.tokenExpiresAt) " +
+            "FROM MetaToken m LEFT JOIN m.contentTopic t ORDER BY m.id")
+    List<AccountSnapshot> findAllSnapshots();
+
+    /**
+     * id 기준 키셋 페이지 조회 (대용량 테이블 스트리밍용)
+     */
+    @Query("SELECT new com.lsm.idea_print.dto.AccountSnapshot(m.id, m.userId, m.accessToken, m.prompt, t.name, m.tokenStatus, m.tokenExpiresAt) " +
+            "FROM MetaToken m LEFT JOIN m.contentTopic t WHERE m.id > :afterId ORDER BY m.id")
+    List<AccountSnapshot> findSnapshotsAfter(Long afterId, Limit limit);
+
+    /**
+     * 지정한 계정들의 스냅샷 조회
+     */
+    @Query("SELECT new com.lsm.idea_print.dto.AccountSnapshot(m.id, m.userId, m.accessToken, m.prompt, t.name, m.tokenStatus, m.tokenExpiresAt) " +
+            "FROM MetaToken m LEFT JOIN m.contentTopic t WHERE m.id IN :ids")
+    List<AccountSnapshot> findSnapshotsByIdIn(Collection<Long> ids);
+
+    /**
+     * 만료가 임박한 토큰 조회.
+     * 만료 시각을 모르는 토큰(새로 등록/수정/가져온 계정)도 대상이다. 갱신 응답으로 만료 시각이 기록되므로
+     * 이런 토큰은 첫 갱신 뒤부터 만료 기준으로 돌아간다. 토큰이 바뀐 지 issuedBefore 가 안 된 계정은 Meta 가 거절하므로 뺀다
+     */
+    @Query("SELECT m FROM MetaToken m WHERE m.tokenStatus = :status " +
+            "AND (m.tokenExpiresAt IS NULL OR m.tokenExpiresAt < :before) " +
+            "AND (m.updatedAt IS NULL OR m.updatedAt < :issuedBefore)")
+    List<MetaToken> findTokensToRefresh(TokenStatus status, LocalDateTime before, LocalDateTime issuedBefore);
+
+    /**
+     * 갱신된 토큰 반영 (엔티티 전체 저장 없이). updatedAt 은 새 토큰의 발급 시각으로 쓰인다
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MetaToken m SET m.accessToken = :accessToken, m.tokenExpiresAt = :expiresAt, " +
+            "m.tokenStatus = com.lsm.idea_print.entity.TokenStatus.ACTIVE, m.updatedAt = CURRENT_TIMESTAMP WHERE m.id = :id")
+    int updateToken(Long id, String accessToken, LocalDateTime expiresAt);
+
+    /**
+     * 토큰 상태 변경
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MetaToken m SET m.tokenStatus = :status WHERE m.id = :id")
+    int updateTokenStatus(Long id, TokenStatus status);
+}
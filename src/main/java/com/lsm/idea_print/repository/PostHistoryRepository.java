@@ -0,0 +1,108 @@
+package com.lsm.idea_print.repository;
+
+import com.lsm.idea_print.entity.PostHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * post_history 저장소 (JdbcTemplate).
+ * 테이블이 일 단위 파티션이라 조회는 항상 attempted_at 범위 조건을 함께 걸어 필요한 파티션만 읽게 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostHistoryRepository {
+
+    private static final String COLUMNS = "attempted_at, account_id, user_id, run_id, job, success, creation_id, "
+            + "media_id, error_cause, error_message, generate_ms, create_ms, publish_ms, total_ms";
+
+    private static final String INSERT_SQL = "INSERT INTO post_history (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // null 인 열도 드라이버가 타입을 추측하지 않게 명시한다
+    private static final int[] INSERT_TYPES = {Types.TIMESTAMP, Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.BOOLEAN, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER};
+
+    private static final RowMapper<PostHistory> ROW_MAPPER = PostHistoryRepository::mapRow;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<PostHistory> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows.stream()
+                .map(row -> new Object[]{Timestamp.valueOf(row.attemptedAt()), row.accountId(), row.userId(),
+                        row.runId(), row.job(), row.success(), row.creationId(), row.mediaId(), row.errorCause(),
+                        row.errorMessage(), row.generateMillis(), row.createMillis(), row.publishMillis(),
+                        row.totalMillis()})
+                .toList(), INSERT_TYPES);
+    }
+
+    /**
+     * 최신순 키셋 페이지. (beforeAt, beforeId) 가 있으면 그 행보다 오래된 행부터 읽는다.
+     *
+     * @param accountId    null 이면 전체 계정
+     * @param failuresOnly 실패한 시도만
+     * @param since        이 시각 이후만 (파티션 가지치기)
+     */
+    public List<PostHistory> findPage(Long accountId, boolean failuresOnly, LocalDateTime since,
+                                      LocalDateTime beforeAt, Long beforeId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, ").append(COLUMNS)
+                .append(" FROM post_history WHERE attempted_at >= ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(since));
+        if (accountId != null) {
+            sql.append(" AND account_id = ?");
+            args.add(accountId);
+        }
+        if (failuresOnly) {
+            sql.append(" AND NOT success");
+        }
+        if (beforeAt != null && beforeId != null) {
+            sql.append(" AND (attempted_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(beforeAt));
+            args.add(beforeId);
+        }
+        sql.append(" ORDER BY attempted_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * 앞으로 쓸 일 파티션을 만들고 보관 기간이 지난 파티션을 지운다 (V5 마이그레이션의 함수).
+     *
+     * @return 지운 파티션 수
+     */
+    public int maintainPartitions(int daysAhead, int retentionDays) {
+        Integer dropped = jdbcTemplate.queryForObject("SELECT post_history_maintain_partitions(?, ?)",
+                Integer.class, daysAhead, retentionDays);
+        return dropped == null ? 0 : dropped;
+    }
+
+    private static PostHistory mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new PostHistory(
+                rs.getLong("id"),
+                rs.getTimestamp("attempted_at").toLocalDateTime(),
+                rs.getObject("account_id", Long.class),
+                rs.getString("user_id"),
+                rs.getString("run_id"),
+                rs.getString("job"),
+                rs.getBoolean("success"),
+                rs.getString("creation_id"),
+                rs.getString("media_id"),
+                rs.getString("error_cause"),
+                rs.getString("error_message"),
+                rs.getObject("generate_ms", Integer.class),
+                rs.getObject("create_ms", Integer.class),
+                rs.getObject("publish_ms", Integer.class),
+                rs.getInt("total_ms"));
+    }
+}
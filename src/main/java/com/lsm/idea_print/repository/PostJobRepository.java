@@ -0,0 +1,26 @@
+package com.lsm.idea_print.repository;
+
+import com.lsm.idea_print.entity.PostJob;
+import com.lsm.idea_print.entity.PostJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostJobRepository extends JpaRepository<PostJob, Long> {
+
+    /**
+     * 실행별 상태 건수
+     */
+    long countByRunKeyAndStatus(String runKey, PostJobStatus status);
+
+    /**
+     * 중단된 채 남아있는 실행 키 조회 (재시작 시 이어서 처리)
+     */
+    @Query("SELECT DISTINCT j.runKey FROM PostJob j WHERE j.status IN :statuses AND j.createdAt > :since")
+    List<String> findRunKeysWithStatusSince(Collection<PostJobStatus> statuses, LocalDateTime since);
+}
@@ -0,0 +1,69 @@
+package com.lsm.idea_print.repository;
+
+import com.lsm.idea_print.dto.response.DailyPostStats;
+import com.lsm.idea_print.dto.response.TopicPostStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 게시 통계 집계 테이블 조회 (V6 마이그레이션의 트리거가 유지).
+ * 어느 조회도 meta_token 을 읽지 않으므로 비용이 계정 수가 아니라 토픽 수/날짜 수에 비례한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostStatsRepository {
+
+    private static final String TOPICS_SQL = """
+            SELECT s.topic_id, t.name, s.account_count, s.post_count
+              FROM post_stats_topic s
+              LEFT JOIN content_topic t ON t.id = s.topic_id
+             WHERE s.account_count > 0 OR s.post_count > 0
+             ORDER BY s.post_count DESC, s.topic_id
+            """;
+
+    private static final String DAILY_SQL = """
+            SELECT day, SUM(post_count) AS posts
+              FROM post_stats_daily
+             WHERE day >= ?
+             GROUP BY day
+             ORDER BY day
+            """;
+
+    private static final String DAILY_BY_TOPIC_SQL = """
+            SELECT d.day, d.post_count AS posts
+              FROM post_stats_daily d
+              JOIN content_topic t ON t.id = d.topic_id
+             WHERE d.day >= ? AND t.name = ?
+             ORDER BY d.day
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<TopicPostStats> findTopics() {
+        return jdbcTemplate.query(TOPICS_SQL, (rs, rowNum) -> new TopicPostStats(
+                rs.getLong("topic_id"), rs.getString("name"), rs.getLong("account_count"), rs.getLong("post_count")));
+    }
+
+    public List<DailyPostStats> findDaily(LocalDate from, String topicName) {
+        return topicName == null
+                ? jdbcTemplate.query(DAILY_SQL, (rs, rowNum) -> daily(rs.getDate("day"), rs.getLong("posts")),
+                        Date.valueOf(from))
+                : jdbcTemplate.query(DAILY_BY_TOPIC_SQL, (rs, rowNum) -> daily(rs.getDate("day"), rs.getLong("posts")),
+                        Date.valueOf(from), topicName);
+    }
+
+    public long sumDay(LocalDate day) {
+        Long posts = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(post_count), 0) FROM post_stats_daily WHERE day = ?", Long.class, Date.valueOf(day));
+        return posts == null ? 0 : posts;
+    }
+
+    private static DailyPostStats daily(Date day, long posts) {
+        return new DailyPostStats(day.toLocalDate(), posts);
+    }
+}
@@ -0,0 +1,84 @@
+package com.lsm.idea_print.repository;
+
+import com.lsm.idea_print.dto.AccountSnapshot;
+import com.lsm.idea_print.dto.response.AccountPostCount;
+import com.lsm.idea_print.entity.MetaTokenRow;
+import com.lsm.idea_print.entity.TokenStatus;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * meta_token 리액티브 저장소 (R2DBC, posting.reactive-db.enabled=true 일 때만 등록).
+ * 조회 결과는 구독자의 요청량만큼 드라이버에서 읽어오므로 대용량 테이블도 한 번에 메모리에 올리지 않는다.
+ */
+public interface ReactiveMetaTokenRepository extends ReactiveCrudRepository<MetaTokenRow, Long> {
+
+    String SNAPSHOT_SELECT = "SELECT m.id, m.user_id, m.access_token, m.prompt, t.name AS topic_name, "
+            + "m.token_status, m.token_expires_at "
+            + "FROM meta_token m LEFT JOIN content_topic t ON t.id = m.content_topic_id ";
+
+    /**
+     * 게시용 계정 스냅샷 스트림 (id 순)
+     */
+    @Query(SNAPSHOT_SELECT + "ORDER BY m.id")
+    Flux<AccountSnapshot> streamSnapshots();
+
+    /**
+     * 토픽명으로 게시용 계정 스냅샷 조회
+     */
+    @Query(SNAPSHOT_SELECT + "WHERE t.name = :topicName ORDER BY m.id")
+    Flux<AccountSnapshot> streamSnapshotsByTopicName(String topicName);
+
+    /**
+     * 특정 토픽의 계정들 조회
+     */
+    Flux<MetaTokenRow> findByContentTopicId(Long contentTopicId);
+
+    String POST_COUNT_SELECT = "SELECT m.id, m.user_id, t.name AS topic_name, m.post_count "
+            + "FROM meta_token m LEFT JOIN content_topic t ON t.id = m.content_topic_id ";
+
+    /**
+     * 게시글 카운트가 특정 값보다 작은 계정들 조회 (많은 순, 최대 limit 개)
+     */
+    @Query(POST_COUNT_SELECT + "WHERE m.post_count < :postCount ORDER BY m.post_count DESC, m.id LIMIT :limit")
+    Flux<AccountPostCount> findByPostCountLessThan(Integer postCount, int limit);
+
+    /**
+     * 게시글 카운트 상위 N 계정 (idx_meta_token_post_count 에서 앞쪽 N 행만 읽는다)
+     */
+    @Query(POST_COUNT_SELECT + "ORDER BY m.post_count DESC, m.id LIMIT :limit")
+    Flux<AccountPostCount> findTopByPostCount(int limit);
+
+    Mono<MetaTokenRow> findByUserId(String userId);
+
+    /**
+     * 게시글 카운트 원자적 증가
+     */
+    @Modifying
+    @Query("UPDATE meta_token SET post_count = post_count + :delta WHERE id = :id")
+    Mono<Integer> incrementPostCount(Long id, long delta);
+
+    /**
+     * 여러 계정의 게시글 카운트를 한 문장으로 증가. ids 는 id 순으로 정렬해 넘기고, 행도 id 순으로 잠근다
+     */
+    @Modifying
+    @Query("WITH delta AS (SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:deltas AS bigint[])) AS d(id, delta)), "
+            + "locked AS (SELECT m.id FROM meta_token m JOIN delta d ON d.id = m.id ORDER BY m.id FOR UPDATE OF m) "
+            + "UPDATE meta_token m SET post_count = m.post_count + d.delta FROM delta d "
+            + "WHERE m.id = d.id AND m.id IN (SELECT id FROM locked)")
+    Mono<Integer> incrementPostCounts(Long[] ids, Long[] deltas);
+
+    @Modifying
+    @Query("UPDATE meta_token SET access_token = :accessToken, token_expires_at = :expiresAt, "
+            + "token_status = 'ACTIVE' WHERE id = :id")
+    Mono<Integer> updateToken(Long id, String accessToken, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE meta_token SET token_status = :status WHERE id = :id")
+    Mono<Integer> updateTokenStatus(Long id, TokenStatus status);
+}
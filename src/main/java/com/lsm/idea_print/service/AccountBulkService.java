@@ -0,0 +1,319 @@
+package com.lsm.idea_print.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.request.BulkUpdateAccountRequest;
+import com.lsm.idea_print.dto.request.SaveAccessTokenRequest;
+import com.lsm.idea_print.dto.response.AccountImportResult;
+import com.lsm.idea_print.entity.MetaToken;
+import com.lsm.idea_print.repository.MetaTokenRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 계정 일괄 등록/수정/삭제와 CSV·NDJSON 스트리밍 가져오기.
+ * 등록은 시퀀스(meta_token_seq, V4 마이그레이션)로 id 를 미리 받아 hibernate.jdbc.batch_size 단위 배치 INSERT 로 저장하고,
+ * posting.accounts.bulk-chunk-size 마다 커밋 후 영속성 컨텍스트를 비워 메모리를 일정하게 유지한다.
+ * 수정/삭제는 엔티티를 읽지 않고 JDBC 배치 또는 id 배열 한 문장으로 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountBulkService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    // 토큰을 바꾸면 이전 토큰의 상태와 만료 시각은 버린다
+    private static final String UPDATE_SQL = """
+            UPDATE meta_token
+               SET user_id = COALESCE(?, user_id),
+                   access_token = COALESCE(?, access_token),
+                   prompt = COALESCE(?, prompt),
+                   token_status = CASE WHEN ?::boolean THEN 'ACTIVE' ELSE token_status END,
+                   token_expires_at = CASE WHEN ?::boolean THEN NULL ELSE token_expires_at END,
+                   updated_at = now()
+             WHERE id = ?
+            """;
+
+    private final MetaTokenRepository metaTokenRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AccountRegistry accountRegistry;
+    private final PostingProperties postingProperties;
+
+    public List<Long> createAll(List<SaveAccessTokenRequest> requests) {
+        List<Long> ids = new ArrayList<>(requests.size());
+        int chunkSize = chunkSize();
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            ids.addAll(insert(requests.subList(from, Math.min(from + chunkSize, requests.size())).stream()
+                    .map(AccountBulkService::toEntity)
+                    .toList()));
+        }
+        accountRegistry.invalidate();
+        return ids;
+    }
+
+    public int updateAll(List<BulkUpdateAccountRequest> requests) {
+        List<BulkUpdateAccountRequest> targets = requests.stream().filter(request -> request.getId() != null).toList();
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, targets, chunkSize(), (ps, request) -> {
+            ps.setString(1, request.getUserId());
+            ps.setString(2, request.getAccessToken());
+            ps.setString(3, request.getPrompt());
+            boolean newToken = request.getAccessToken() != null;
+            ps.setBoolean(4, newToken);
+            ps.setBoolean(5, newToken);
+            ps.setLong(6, request.getId());
+        });
+        accountRegistry.invalidate();
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(0, count);
+            }
+        }
+        return updated;
+    }
+
+    public int deleteAll(List<Long> ids) {
+        return updateByIds("DELETE FROM meta_token WHERE id = ANY(?)", ids);
+    }
+
+    // 아직 flush 되지 않은 PostCountAggregator 증가분은 초기화 뒤에 더해진다
+    public int resetPostCounts(List<Long> ids) {
+        return updateByIds("UPDATE meta_token SET post_count = 0, updated_at = now() WHERE id = ANY(?)", ids);
+    }
+
+    /**
+     * CSV 가져오기. 첫 줄은 헤더(user_id, access_token, prompt)이며 따옴표 안의 쉼표와 줄바꿈을 허용한다.
+     * 청크 단위로 커밋하므로 중간에 입력이 끊기면 그 전 청크까지는 저장된다.
+     */
+    public AccountImportResult importCsv(InputStream body) {
+        BufferedReader reader = reader(body);
+        try {
+            List<String> header = readCsvRecord(reader);
+            if (header == null) {
+                return new AccountImportResult(0, 0, List.of(), 0);
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(normalizeColumn(header.get(i)), i);
+            }
+            if (!columns.containsKey("accesstoken")) {
+                throw new IllegalArgumentException("access_token 열이 없습니다");
+            }
+            return importRecords(() -> {
+                List<String> fields = readCsvRecord(reader);
+                if (fields == null) {
+                    return null;
+                }
+                SaveAccessTokenRequest request = new SaveAccessTokenRequest();
+                request.setUserId(field(fields, columns.get("userid")));
+                request.setAccessToken(field(fields, columns.get("accesstoken")));
+                request.setPrompt(field(fields, columns.get("prompt")));
+                return request;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // NDJSON 가져오기. 한 줄에 SaveAccessTokenRequest 하나
+    public AccountImportResult importNdjson(InputStream body) {
+        BufferedReader reader = reader(body);
+        return importRecords(() -> {
+            String line = reader.readLine();
+            while (line != null && line.isBlank()) {
+                line = reader.readLine();
+            }
+            if (line == null) {
+                return null;
+            }
+            try {
+                return objectMapper.readValue(line, SaveAccessTokenRequest.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON 형식 오류: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private AccountImportResult importRecords(RecordSource source) {
+        long startedAt = System.currentTimeMillis();
+        int chunkSize = chunkSize();
+        long imported = 0;
+        long rejected = 0;
+        long recordNo = 0;
+        List<String> errors = new ArrayList<>();
+        List<MetaToken> chunk = new ArrayList<>(chunkSize);
+        try {
+            while (true) {
+                recordNo++;
+                SaveAccessTokenRequest request;
+                try {
+                    request = source.next();
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    addError(errors, recordNo, e.getMessage());
+                    continue;
+                }
+                if (request == null) {
+                    break;
+                }
+                if (request.getAccessToken() == null || request.getAccessToken().isBlank()) {
+                    rejected++;
+                    addError(errors, recordNo, "access_token 없음");
+                    continue;
+                }
+                chunk.add(toEntity(request));
+                if (chunk.size() >= chunkSize) {
+                    imported += insert(chunk).size();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += insert(chunk).size();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (imported > 0) {
+                accountRegistry.invalidate();
+            }
+        }
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("계정 가져오기 완료 imported={} rejected={} elapsedMs={}", imported, rejected, elapsed);
+        return new AccountImportResult(imported, rejected, errors, elapsed);
+    }
+
+    // 한 트랜잭션에서 배치 INSERT 후 영속성 컨텍스트를 비운다
+    private List<Long> insert(List<MetaToken> tokens) {
+        return transactionTemplate.execute(status -> {
+            metaTokenRepository.saveAll(tokens);
+            entityManager.flush();
+            entityManager.clear();
+            return tokens.stream().map(MetaToken::getId).toList();
+        });
+    }
+
+    // id 목록 크기와 무관하게 배열 파라미터 하나로 보낸다 (IN 절 바인드 변수 한도 회피)
+    private int updateByIds(String sql, List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int affected = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+        accountRegistry.invalidate();
+        return affected;
+    }
+
+    private int chunkSize() {
+        return Math.max(1, postingProperties.getAccounts().getBulkChunkSize());
+    }
+
+    private static MetaToken toEntity(SaveAccessTokenRequest request) {
+        return MetaToken.builder()
+                .userId(request.getUserId())
+                .accessToken(request.getAccessToken())
+                .prompt(request.getPrompt())
+                .build();
+    }
+
+    private static void addError(List<String> errors, long recordNo, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(recordNo + "번째 레코드: " + message);
+        }
+    }
+
+    private static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String field(List<String> fields, Integer index) {
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * RFC 4180 레코드 하나를 읽는다. 빈 줄은 건너뛰고, 입력이 끝나면 null.
+     */
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            // 따옴표 안의 줄바꿈은 다음 줄까지 한 필드로 잇는다
+            line = reader.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("닫히지 않은 따옴표");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface RecordSource {
+        // 다음 레코드. 입력이 끝나면 null, 형식 오류면 IllegalArgumentException
+        SaveAccessTokenRequest next() throws IOException;
+    }
+}
@@ -0,0 +1,227 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.config.ThreadsAccountProperties;
+import com.lsm.idea_print.dto.AccountSnapshot;
+import com.lsm.idea_print.entity.TokenStatus;
+import com.lsm.idea_print.repository.MetaTokenRepository;
+import com.lsm.idea_print.repository.ReactiveMetaTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시 대상 계정 레지스트리.
+ * DB 계정(프로젝션 쿼리 1회)과 설정 파일의 threads.accounts 를 합친 불변 스냅샷을 들고 있다가,
+ * 계정이 저장/수정되면 무효화되어 다음 조회 때 다시 만든다 (copy-on-write).
+ * 무효화는 Redis 채널로 다른 노드에도 알리고, 알림을 놓쳐도 posting.accounts.snapshot-ttl 이 지나면 다시 읽는다.
+ * posting.accounts.load-mode=PAGED 면 스냅샷 없이 id 키셋 페이지 단위로 흘려준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountRegistry {
+
+    private final MetaTokenRepository metaTokenRepository;
+    private final ThreadsAccountProperties threadsAccountProperties;
+    private final PostingProperties postingProperties;
+    private final Scheduler blockingScheduler;
+    // posting.reactive-db.enabled=true 일 때만 존재
+    private final ObjectProvider<ReactiveMetaTokenRepository> reactiveRepository;
+    // 노드 간 무효화 알림용. 없으면 이 노드만 무효화하고 나머지는 TTL 에 맡긴다
+    private final ObjectProvider<ReactiveStringRedisTemplate> redis;
+
+    // 자기가 보낸 알림은 무시한다
+    private final String nodeId = UUID.randomUUID().toString();
+    private Disposable invalidations;
+
+    // synchronized 대신 락을 쓴다. 락을 쥔 채 DB 를 읽으므로 가상 스레드가 캐리어에 고정되지 않게 한다
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile List<AccountSnapshot> snapshot;
+    private volatile long loadedAtNanos;
+    // 무효화 세대. 로딩 도중 무효화되면 오래된 결과를 저장하지 않는다
+    private final AtomicLong generation = new AtomicLong();
+
+    public Flux<AccountSnapshot> accounts() {
+        PostingProperties.LoadMode loadMode = postingProperties.getAccounts().getLoadMode();
+        if (loadMode == PostingProperties.LoadMode.PAGED) {
+            return streamPaged(postingProperties.getAccounts().getPageSize());
+        }
+        if (loadMode == PostingProperties.LoadMode.REACTIVE) {
+            return streamReactive();
+        }
+        return Mono.fromCallable(this::snapshot)
+                .subscribeOn(blockingScheduler)
+                .flatMapIterable(accounts -> accounts);
+    }
+
+    public List<AccountSnapshot> snapshot() {
+        List<AccountSnapshot> current = current();
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = current();
+            if (current != null) {
+                return current;
+            }
+            long loadingGeneration = generation.get();
+            List<AccountSnapshot> loaded = mergeConfiguredAccounts(metaTokenRepository.findAllSnapshots());
+            if (generation.get() == loadingGeneration) {
+                loadedAtNanos = System.nanoTime();
+                snapshot = loaded;
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public List<AccountSnapshot> findByIds(Collection<Long> ids) {
+        List<AccountSnapshot> current = current();
+        if (current == null) {
+            return metaTokenRepository.findSnapshotsByIdIn(ids);
+        }
+        Set<Long> wanted = Set.copyOf(ids);
+        return current.stream().filter(account -> account.id() != null && wanted.contains(account.id())).toList();
+    }
+
+    /**
+     * 이 노드의 스냅샷을 버리고 다른 노드에도 알린다. 알림이 실패해도 다른 노드는 TTL 이 지나면 다시 읽는다.
+     */
+    public void invalidate() {
+        invalidateLocally();
+        ReactiveStringRedisTemplate template = redisTemplate();
+        if (template != null) {
+            template.convertAndSend(invalidationChannel(), nodeId)
+                    .subscribe(receivers -> {
+                    }, error -> log.warn("계정 스냅샷 무효화 알림 실패 - {}", error.getMessage()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void listenForInvalidations() {
+        ReactiveStringRedisTemplate template = redisTemplate();
+        if (template == null) {
+            return;
+        }
+        invalidations = template.listenToChannel(invalidationChannel())
+                .filter(message -> !nodeId.equals(message.getMessage()))
+                .doOnNext(message -> invalidateLocally())
+                .retry()
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        if (invalidations != null) {
+            invalidations.dispose();
+        }
+    }
+
+    private void invalidateLocally() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    // TTL 이 지난 스냅샷은 없는 것으로 본다
+    private List<AccountSnapshot> current() {
+        List<AccountSnapshot> current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        Duration ttl = postingProperties.getAccounts().getSnapshotTtl();
+        return System.nanoTime() - loadedAtNanos < ttl.toNanos() ? current : null;
+    }
+
+    private String invalidationChannel() {
+        return postingProperties.getAccounts().getInvalidationChannel();
+    }
+
+    private ReactiveStringRedisTemplate redisTemplate() {
+        return redis == null ? null : redis.getIfAvailable();
+    }
+
+    // 대용량 테이블용: id 키셋 페이지를 하위 구독자가 요청할 때만 읽는다
+    private Flux<AccountSnapshot> streamPaged(int pageSize) {
+        Flux<AccountSnapshot> dbAccounts = Mono.fromCallable(() -> metaTokenRepository.findSnapshotsAfter(0L, Limit.of(pageSize)))
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : Mono.fromCallable(() -> metaTokenRepository.findSnapshotsAfter(
+                                page.get(page.size() - 1).id(), Limit.of(pageSize))))
+                .subscribeOn(blockingScheduler)
+                .flatMapIterable(page -> page);
+        return withConfiguredAccounts(dbAccounts);
+    }
+
+    // R2DBC: 이벤트 루프를 막지 않고, 팬아웃이 요청하는 만큼만 드라이버에서 행을 읽는다
+    private Flux<AccountSnapshot> streamReactive() {
+        ReactiveMetaTokenRepository repository = reactiveRepository.getIfAvailable();
+        if (repository == null) {
+            return Flux.error(new IllegalStateException(
+                    "posting.accounts.load-mode=REACTIVE 는 posting.reactive-db.enabled=true 가 필요합니다"));
+        }
+        return withConfiguredAccounts(repository.streamSnapshots());
+    }
+
+    // 스트림 뒤에 설정 계정을 붙이되, mergeConfiguredAccounts 처럼 같은 userId 가 DB 에 있으면 DB 쪽만 남긴다.
+    // DB 계정의 userId 를 모두 모으지 않고 설정 계정과 겹치는 것만 기억하므로 메모리는 설정 계정 수만큼만 쓴다
+    private Flux<AccountSnapshot> withConfiguredAccounts(Flux<AccountSnapshot> dbAccounts) {
+        return Flux.defer(() -> {
+            List<AccountSnapshot> configured = configuredAccounts();
+            if (configured.isEmpty()) {
+                return dbAccounts;
+            }
+            Set<String> pending = ConcurrentHashMap.newKeySet();
+            configured.forEach(account -> pending.add(account.userId()));
+            return dbAccounts
+                    .doOnNext(account -> pending.remove(account.userId()))
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(configured)
+                            .filter(account -> pending.remove(account.userId()))));
+        });
+    }
+
+    private List<AccountSnapshot> mergeConfiguredAccounts(List<AccountSnapshot> dbAccounts) {
+        Set<String> userIds = new LinkedHashSet<>();
+        List<AccountSnapshot> merged = new ArrayList<>(dbAccounts.size());
+        for (AccountSnapshot account : dbAccounts) {
+            userIds.add(account.userId());
+            merged.add(account);
+        }
+        // 같은 userId 가 DB 에도 있으면 DB 쪽을 쓴다
+        configuredAccounts().stream()
+                .filter(account -> userIds.add(account.userId()))
+                .forEach(merged::add);
+        return List.copyOf(merged);
+    }
+
+    private List<AccountSnapshot> configuredAccounts() {
+        return Optional.ofNullable(threadsAccountProperties.getAccounts()).orElse(List.of()).stream()
+                .map(account -> new AccountSnapshot(null, account.getUserId(), account.getAccessToken(), null, null,
+                        TokenStatus.ACTIVE, null))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.lsm.idea_print.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * AIMD 동시 실행 한도.
+ * 성공할 때마다 한도를 1/한도 만큼 늘려(한도만큼 성공하면 +1) 천천히 키우고,
+ * 과부하 신호(429/5xx/타임아웃)를 받으면 곱으로 줄인다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final ConcurrencyGate gate;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double decreaseFactor;
+    private double estimate;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double decreaseFactor) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.decreaseFactor = decreaseFactor;
+        this.estimate = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.gate = new ConcurrencyGate((int) estimate);
+    }
+
+    public <T> Mono<T> run(Supplier<Mono<T>> work) {
+        return gate.run(work);
+    }
+
+    public void onSuccess() {
+        int newLimit;
+        synchronized (this) {
+            estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+            newLimit = (int) estimate;
+        }
+        applyIfChanged(newLimit);
+    }
+
+    public void onOverload() {
+        int newLimit;
+        synchronized (this) {
+            estimate = Math.max(minLimit, estimate * decreaseFactor);
+            newLimit = (int) estimate;
+        }
+        applyIfChanged(newLimit);
+    }
+
+    public int getLimit() {
+        return gate.getLimit();
+    }
+
+    public int getInFlight() {
+        return gate.getInFlight();
+    }
+
+    private void applyIfChanged(int newLimit) {
+        if (gate.getLimit() != newLimit) {
+            gate.setLimit(newLimit);
+        }
+    }
+}
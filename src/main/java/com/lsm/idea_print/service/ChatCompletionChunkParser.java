@@ -0,0 +1,51 @@
+package com.lsm.idea_print.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * chat.completion.chunk 에서 choices[0].delta.content 만 스트리밍 파서로 꺼낸다.
+ * JsonNode 트리를 만들지 않으므로 청크마다 할당이 거의 없다.
+ */
+public final class ChatCompletionChunkParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ChatCompletionChunkParser() {
+    }
+
+    /**
+     * @return delta 의 content, 없으면 null
+     */
+    public static String extractDeltaContent(String chunk) {
+        try (JsonParser parser = JSON_FACTORY.createParser(chunk)) {
+            int deltaDepth = -1;
+            int depth = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    depth++;
+                } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    if (depth == deltaDepth) {
+                        // 첫 번째 choice 의 delta 만 본다
+                        return null;
+                    }
+                    depth--;
+                } else if (token == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (deltaDepth < 0 && "delta".equals(field)) {
+                        deltaDepth = depth + 1;
+                    } else if (depth == deltaDepth && "content".equals(field)) {
+                        return parser.nextToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    }
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("스트리밍 청크 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+}
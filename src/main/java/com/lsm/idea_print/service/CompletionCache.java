@@ -0,0 +1,109 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.OpenAiProperties;
+import com.lsm.idea_print.dto.response.CompletionCacheStats;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * model + prompt 기준 GPT 완성 결과 캐시.
+ * 같은 키의 요청이 진행 중이면 새로 호출하지 않고 그 결과를 함께 기다린다 (single-flight).
+ * 크기(LRU)와 완료 시점 기준 TTL 로 만료된다. 실패한 호출은 캐시에 남기지 않는다.
+ * openai.multi-choice.enabled=false 이고 openai.completion-cache.enabled=true 일 때 일일 게시가 쓴다.
+ * multi-choice 가 켜져 있으면 일일 게시는 PromptVariantPool 을 거치므로 이 캐시를 쓰지 않는다.
+ */
+@Component
+public class CompletionCache {
+
+    private final OpenAiProperties.CompletionCache properties;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public CompletionCache(OpenAiProperties openAiProperties) {
+        this.properties = openAiProperties.getCompletionCache();
+        int maxSize = properties.getMaxSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Mono<String> get(String model, String prompt, Supplier<Mono<String>> loader) {
+        return Mono.deferContextual(context -> {
+            String key = model + '\u0000' + prompt;
+            Entry created = new Entry();
+            Entry existing;
+            synchronized (entries) {
+                existing = entries.get(key);
+                if (existing != null && existing.isExpired(properties.getTtl().toMillis())) {
+                    entries.remove(key);
+                    existing = null;
+                }
+                if (existing == null) {
+                    entries.put(key, created);
+                }
+            }
+
+            if (existing != null) {
+                (existing.future.isDone() ? hits : coalesced).incrementAndGet();
+                return Mono.fromFuture(existing.future, true);
+            }
+
+            misses.incrementAndGet();
+            // 호출자가 취소해도 함께 기다리는 다른 구독자가 있으므로 업스트림 호출은 끝까지 진행한다.
+            // 따로 구독하므로 처음 요청한 호출자의 Context 를 직접 넘긴다
+            loader.get().contextWrite(context).subscribe(
+                    created::complete,
+                    error -> {
+                        remove(key, created);
+                        created.future.completeExceptionally(error);
+                    },
+                    () -> {
+                        if (!created.future.isDone()) {
+                            remove(key, created);
+                            created.future.completeExceptionally(new IllegalStateException("빈 응답"));
+                        }
+                    });
+            return Mono.fromFuture(created.future, true);
+        });
+    }
+
+    public CompletionCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CompletionCacheStats(hits.get(), misses.get(), coalesced.get(), size);
+    }
+
+    private void remove(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private void complete(String value) {
+            completedAt = System.currentTimeMillis();
+            future.complete(value);
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return future.isDone() && System.currentTimeMillis() - completedAt > ttlMillis;
+        }
+    }
+}
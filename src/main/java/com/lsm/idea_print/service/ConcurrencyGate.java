@@ -0,0 +1,92 @@
+package com.lsm.idea_print.service;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * 논블로킹 동시 실행 제한 + 대기 큐.
+ * 한도를 넘는 작업은 스레드를 막지 않고 큐에 들어가 있다가 앞선 작업이 끝나면 시작된다.
+ * 한도는 실행 중에도 바꿀 수 있다.
+ */
+public class ConcurrencyGate {
+
+    private final Queue<Runnable> waiters = new ConcurrentLinkedQueue<>();
+    private int limit;
+    private int inFlight;
+
+    public ConcurrencyGate(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    public <T> Mono<T> run(Supplier<Mono<T>> work) {
+        return Mono.create(sink -> {
+            Runnable start = () -> {
+                // 직접 구독하므로 호출자의 Reactor Context 를 이어 붙인다
+                Disposable subscription = Mono.defer(work)
+                        .doFinally(signal -> release())
+                        .contextWrite(sink.contextView())
+                        .subscribe(sink::success, sink::error, sink::success);
+                sink.onDispose(subscription);
+            };
+            if (tryAcquire()) {
+                start.run();
+            } else {
+                waiters.add(start);
+                sink.onCancel(() -> waiters.remove(start));
+                // 큐에 넣는 사이에 자리가 났을 수 있으므로 한 번 더 확인
+                drain();
+            }
+        });
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int newLimit) {
+        synchronized (this) {
+            limit = Math.max(1, newLimit);
+        }
+        drain();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public int getPending() {
+        return waiters.size();
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (inFlight < limit && waiters.isEmpty()) {
+            inFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (inFlight >= limit || (next = waiters.poll()) == null) {
+                    return;
+                }
+                inFlight++;
+            }
+            next.run();
+        }
+    }
+}
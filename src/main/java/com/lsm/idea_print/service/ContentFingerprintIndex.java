@@ -0,0 +1,201 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.AccountSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계정/토픽별 최근 게시물 SimHash 색인.
+ * Redis 에는 범위(계정 하나, 토픽 하나)마다 sorted set 하나에 서명을 게시 시각 점수로 두고,
+ * 기간(posting.dedup.window)과 개수(max-entries-per-scope)를 넘는 서명은 기록할 때 잘라낸다.
+ * 앞단의 로컬 Bloom 필터에는 "범위:구간번호:구간값" 키를 넣는다. 거의 같은 문장은 대개 한 구간 이상을
+ * 공유하므로, 어느 구간도 걸리지 않은 범위는 Redis 왕복 없이 새 문장으로 판정한다.
+ * 다른 노드가 기록한 서명은 Pub/Sub 으로 받아 Bloom 필터에 반영하고, 기동 직후에는
+ * 기존 서명으로 Bloom 필터를 채울 때까지 항상 Redis 를 확인한다.
+ * Redis 장애 시에는 중복이 아닌 것으로 보고 게시를 막지 않는다.
+ */
+@Slf4j
+@Component
+public class ContentFingerprintIndex {
+
+    private final ReactiveStringRedisTemplate redis;
+    private final PostingProperties.Dedup properties;
+    private final PostingMetrics metrics;
+    private final RotatingBloomFilter bloomFilter;
+    private final String channel;
+
+    private volatile boolean warmed;
+    private Disposable subscription;
+
+    public ContentFingerprintIndex(ReactiveStringRedisTemplate redis, PostingProperties postingProperties,
+                                   PostingMetrics metrics) {
+        this.redis = redis;
+        this.properties = postingProperties.getDedup();
+        this.metrics = metrics;
+        this.bloomFilter = new RotatingBloomFilter(properties.getExpectedKeys(), properties.getFalsePositiveRate());
+        this.channel = properties.getKeyPrefix() + "recorded";
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getMaxRegenerations() {
+        return properties.getMaxRegenerations();
+    }
+
+    /**
+     * 기간 안에 같은 계정 또는 같은 토픽으로 게시된 문장과 해밍 거리가 max-distance 이하인지.
+     */
+    public Mono<Boolean> isNearDuplicate(AccountSnapshot account, String text) {
+        if (!properties.isEnabled()) {
+            return Mono.just(false);
+        }
+        long signature = SimHash.of(text);
+        List<String> scopes = warmed
+                ? scopes(account).stream().filter(scope -> mightContain(scope, signature)).toList()
+                : scopes(account);
+        if (scopes.isEmpty()) {
+            metrics.dedup("bloom_negative");
+            return Mono.just(false);
+        }
+        double since = System.currentTimeMillis() - properties.getWindow().toMillis();
+        return Flux.fromIterable(scopes)
+                .flatMap(scope -> redis.opsForZSet().rangeByScore(key(scope), Range.rightUnbounded(Range.Bound.inclusive(since))))
+                .any(member -> SimHash.distance(signature, Long.parseUnsignedLong(member, 16)) <= properties.getMaxDistance())
+                .doOnNext(duplicate -> metrics.dedup(duplicate ? "duplicate" : "unique"))
+                .onErrorResume(error -> {
+                    log.warn("중복 색인 조회 실패 - 중복 아님으로 처리 userId={} - {}", account.userId(), error.getMessage());
+                    metrics.dedup("error");
+                    return Mono.just(false);
+                });
+    }
+
+    // 게시한 문장의 서명을 기록한다
+    public Mono<Void> record(AccountSnapshot account, String text) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        long signature = SimHash.of(text);
+        String member = Long.toHexString(signature);
+        long now = System.currentTimeMillis();
+        double expired = now - properties.getWindow().toMillis();
+        long keep = Math.max(1, properties.getMaxEntriesPerScope());
+        List<String> scopes = scopes(account);
+        scopes.forEach(scope -> put(scope, signature));
+        return Flux.fromIterable(scopes)
+                .flatMap(scope -> {
+                    String key = key(scope);
+                    return redis.opsForZSet().add(key, member, now)
+                            .then(redis.opsForZSet().removeRangeByScore(key, Range.closed(0d, expired)))
+                            // 점수 오름차순이므로 가장 최근 keep 개만 남긴다
+                            .then(redis.opsForZSet().removeRange(key, Range.closed(0L, -(keep + 1))))
+                            .then(redis.expire(key, properties.getWindow()))
+                            .then(redis.convertAndSend(channel, scope + "\n" + member));
+                })
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("중복 색인 기록 실패 userId={} - {}", account.userId(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        subscription = redis.listenToChannel(channel)
+                .doOnNext(message -> {
+                    String[] parts = message.getMessage().split("\n", 2);
+                    if (parts.length == 2) {
+                        put(parts[0], Long.parseUnsignedLong(parts[1], 16));
+                    }
+                })
+                // 연결이 끊기면 간격을 늘려 가며 다시 구독한다 (끊긴 동안 다른 노드가 기록한 서명은 Bloom 필터에 빠질 수 있다)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                        .doBeforeRetry(signal -> log.warn("중복 색인 구독 끊김 - 재연결 시도 #{} - {}",
+                                signal.totalRetries() + 1, signal.failure().getMessage())))
+                .subscribe();
+        // 기존 서명으로 Bloom 필터를 채운다. 끝나기 전까지는 모든 확인이 Redis 로 간다
+        String keyPrefix = properties.getKeyPrefix() + "s:";
+        double since = System.currentTimeMillis() - properties.getWindow().toMillis();
+        redis.scan(ScanOptions.scanOptions().match(keyPrefix + "*").count(1000).build())
+                .flatMap(key -> redis.opsForZSet().rangeByScore(key, Range.rightUnbounded(Range.Bound.inclusive(since)))
+                        .doOnNext(member -> put(key.substring(keyPrefix.length()), Long.parseUnsignedLong(member, 16)))
+                        .count(), 16)
+                .reduce(0L, Long::sum)
+                .subscribe(signatures -> {
+                    warmed = true;
+                    log.info("중복 색인 Bloom 필터 준비 완료 signatures={}", signatures);
+                }, error -> log.warn("중복 색인 Bloom 필터 채우기 실패 - Redis 로만 확인 - {}", error.getMessage()));
+    }
+
+    // 키는 추가된 뒤 최소 한 주기 남으므로 기간 안의 서명은 항상 Bloom 필터에 있다
+    @Scheduled(fixedRateString = "${posting.dedup.window:3d}", initialDelayString = "${posting.dedup.window:3d}")
+    public void rotate() {
+        bloomFilter.rotate();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private void put(String scope, long signature) {
+        int bands = bands();
+        for (int band = 0; band < bands; band++) {
+            bloomFilter.put(bandKey(scope, signature, band, bands));
+        }
+    }
+
+    private boolean mightContain(String scope, long signature) {
+        int bands = bands();
+        for (int band = 0; band < bands; band++) {
+            if (bloomFilter.mightContain(bandKey(scope, signature, band, bands))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // max-distance 이하의 서명이 한 구간은 반드시 공유하도록 bands 는 max-distance 보다 커야 한다
+    private int bands() {
+        return Math.max(1, Math.min(64, Math.max(properties.getBands(), properties.getMaxDistance() + 1)));
+    }
+
+    private String key(String scope) {
+        return properties.getKeyPrefix() + "s:" + scope;
+    }
+
+    private static String bandKey(String scope, long signature, int band, int bands) {
+        return scope + ":" + band + ":" + Long.toHexString(SimHash.band(signature, band, bands));
+    }
+
+    private static List<String> scopes(AccountSnapshot account) {
+        List<String> scopes = new ArrayList<>(2);
+        scopes.add("account:" + (account.id() != null ? account.id() : account.userId()));
+        if (account.topicName() != null) {
+            scopes.add("topic:" + account.topicName());
+        }
+        return scopes;
+    }
+}
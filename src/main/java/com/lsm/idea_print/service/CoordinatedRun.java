@@ -0,0 +1,159 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.dto.response.PostResultResponse;
+import com.lsm.idea_print.dto.response.RunStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RunCoordinator} 에 등록된 실행 하나.
+ * Reactor Context 로 파이프라인에 전달되어, 팬아웃 엔진이 계정 게시 시작을 알리고
+ * 드레인 신호가 오면 새 계정을 더 받지 않는다.
+ */
+public class CoordinatedRun {
+
+    private final String id = UUID.randomUUID().toString().substring(0, 8);
+    private final String job;
+    private final Instant startedAt = Instant.now();
+    private final Instant deadline;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong done = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // 게시 대상 수. 모르면 -1
+    private volatile long total = -1;
+
+    private final Sinks.Empty<Void> drainSignal = Sinks.empty();
+    // HTTP 응답처럼 결과를 따라 보는 구독자가 있을 때만 만든다. 구독자가 끊겨도 실행은 계속된다
+    private final Sinks.Many<PostResultResponse> watcher;
+    private volatile RunStatus.State state = RunStatus.State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile Disposable subscription;
+
+    CoordinatedRun(String job, Duration deadline, boolean watched) {
+        this.job = job;
+        this.deadline = startedAt.plus(deadline);
+        // 구독 전 결과도 놓치지 않도록 첫 구독자가 올 때까지 모아 둔다
+        this.watcher = watched ? Sinks.many().unicast().onBackpressureBuffer() : null;
+    }
+
+    // 파이프라인이 게시 대상 수를 알게 되면 호출 (ETA 계산에 사용)
+    public void expect(long total) {
+        this.total = total;
+    }
+
+    public void started() {
+        started.incrementAndGet();
+    }
+
+    public PostResultResponse record(PostResultResponse result) {
+        (result.isSuccess() ? done : failed).incrementAndGet();
+        if (watcher != null) {
+            // 구독자가 떠났으면 버린다
+            watcher.tryEmitNext(result);
+        }
+        return result;
+    }
+
+    /**
+     * 실행 결과 스트림. 실행이 어떻게 끝나든 정상 완료로 끝나며, 최종 상태는 {@link #status()} 로 확인한다.
+     * {@link RunCoordinator#submitWatched} 로 시작한 실행에서 한 번만 구독할 수 있다.
+     */
+    public Flux<PostResultResponse> results() {
+        if (watcher == null) {
+            return Flux.error(new IllegalStateException("결과를 구독할 수 없는 실행입니다 runId=" + id));
+        }
+        return watcher.asFlux();
+    }
+
+    public Mono<Void> drainSignal() {
+        return drainSignal.asMono();
+    }
+
+    public boolean isDraining() {
+        return state == RunStatus.State.DRAINING;
+    }
+
+    /**
+     * 현재 구독 컨텍스트의 실행이 드레인 중인지. 실행 밖이면 false.
+     */
+    public static boolean isDraining(ContextView context) {
+        return context.<CoordinatedRun>getOrEmpty(CoordinatedRun.class)
+                .map(CoordinatedRun::isDraining)
+                .orElse(false);
+    }
+
+    void attach(Disposable subscription) {
+        this.subscription = subscription;
+    }
+
+    void drain() {
+        if (state == RunStatus.State.RUNNING) {
+            state = RunStatus.State.DRAINING;
+            drainSignal.tryEmitEmpty();
+        }
+    }
+
+    void cancel(RunStatus.State reason) {
+        if (isActive()) {
+            state = reason;
+        }
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    // 먼저 정해진 종료 상태(취소, 마감 초과)가 있으면 유지한다
+    void finish(RunStatus.State outcome) {
+        if (isActive()) {
+            state = outcome;
+        }
+        finishedAt = Instant.now();
+        if (watcher != null) {
+            // 취소/마감 초과로 다른 스레드가 아직 결과를 내보내는 중일 수 있다
+            watcher.emitComplete(Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+        }
+    }
+
+    boolean isActive() {
+        return state == RunStatus.State.RUNNING || state == RunStatus.State.DRAINING;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getJob() {
+        return job;
+    }
+
+    public RunStatus.State getState() {
+        return state;
+    }
+
+    public RunStatus status() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsed = Duration.between(startedAt, end).toMillis();
+        long doneCount = done.get();
+        long failedCount = failed.get();
+        long completed = doneCount + failedCount;
+        long expected = total;
+        // 한도 초과 결과는 시작 없이 완료로만 잡히므로 음수가 되지 않게 한다
+        long inFlight = Math.max(0, started.get() - completed);
+        Long eta = null;
+        if (isActive() && expected > 0 && completed > 0) {
+            eta = Math.max(0, expected - completed) * elapsed / completed / 1000;
+        }
+        return new RunStatus(id, job, state, startedAt, deadline, finishedAt,
+                expected >= 0 ? expected : null, doneCount, failedCount, inFlight, eta, elapsed);
+    }
+}
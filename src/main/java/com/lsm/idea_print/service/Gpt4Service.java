@@ -1,43 +1,199 @@
 package com.lsm.idea_print.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.lsm.idea_print.config.OpenAiProperties;
+import com.lsm.idea_print.dto.response.GenerationResult;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Service
 public class Gpt4Service {
 
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    // 이미지 응답(b64_json)은 기본 버퍼 한도(256KB)보다 크다
+    private static final int MAX_RESPONSE_BYTES = 16 * 1024 * 1024;
+
     private final WebClient webClient;
+    private final UpstreamGuards upstreamGuards;
+    private final CompletionCache completionCache;
+    private final OpenAiProperties properties;
+    private final PostingMetrics metrics;
 
-    public Gpt4Service(WebClient.Builder builder, @Value("${spring.ai.openai.api-key}") String apiKey) {
+    public Gpt4Service(WebClient.Builder builder, UpstreamGuards upstreamGuards,
+                       CompletionCache completionCache, OpenAiProperties properties, PostingMetrics metrics,
+                       @Value("${spring.ai.openai.api-key}") String apiKey) {
+        this.upstreamGuards = upstreamGuards;
+        this.metrics = metrics;
+        this.completionCache = completionCache;
+        this.properties = properties;
         this.webClient = builder
-                .baseUrl("https://api.openai.com/v1")
+                .baseUrl(properties.getBaseUrl())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_RESPONSE_BYTES))
                 .build();
     }
 
     public Mono<String> generatePost(String prompt) {
+        return generatePost(prompt, true);
+    }
+
+    /**
+     * @param reuse false 면 캐시를 건너뛰고 항상 새 문장을 생성한다 (같은 프롬프트에서 다양성이 필요할 때)
+     */
+    public Mono<String> generatePost(String prompt, boolean reuse) {
+        String model = properties.getModel();
+        if (!reuse || !properties.getCompletionCache().isEnabled()) {
+            return completion(model, prompt);
+        }
+        return completionCache.get(model, prompt, () -> completion(model, prompt));
+    }
+
+    private Mono<String> completion(String model, String prompt) {
+        return metrics.timed(PostingMetrics.GPT_GENERATE, properties.getStreaming().isEnabled()
+                ? streamPost(prompt, properties.getStreaming().getMaxChars())
+                        .doOnNext(result -> {
+                            metrics.recordStage(PostingMetrics.GPT_FIRST_TOKEN, Duration.ofMillis(result.firstTokenMillis()));
+                            log.debug("GPT 스트리밍 생성 firstTokenMs={} totalMs={} truncated={}",
+                                    result.firstTokenMillis(), result.totalMillis(), result.truncated());
+                        })
+                        .map(GenerationResult::text)
+                : requestCompletion(model, prompt));
+    }
+
+    /**
+     * stream: true 로 요청해 delta 를 도착하는 대로 이어붙인다.
+     * maxChars 를 넘으면 구독을 끊어 업스트림 생성도 중단시킨다.
+     */
+    public Mono<GenerationResult> streamPost(String prompt, int maxChars) {
+        Map<String, Object> requestBody = Map.of(
+                "model", properties.getModel(),
+                "stream", true,
+                "max_completion_tokens", properties.getStreaming().getMaxTokens(),
+                "messages", List.of(
+                        Map.of("role", "user", "content", prompt)
+                )
+        );
+
+        return upstreamGuards.openAi(() -> Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            long[] firstTokenAt = {0L};
+            StringBuilder text = new StringBuilder();
+
+            return webClient.post()
+                    .uri("/chat/completions")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToFlux(SSE_TYPE)
+                    .map(event -> event.data() == null ? "" : event.data())
+                    .takeWhile(data -> !"[DONE]".equals(data))
+                    .mapNotNull(ChatCompletionChunkParser::extractDeltaContent)
+                    .doOnNext(delta -> {
+                        if (firstTokenAt[0] == 0L) {
+                            firstTokenAt[0] = System.nanoTime();
+                        }
+                        text.append(delta);
+                    })
+                    .takeUntil(delta -> text.length() >= maxChars)
+                    .then(Mono.fromSupplier(() -> {
+                        boolean truncated = text.length() >= maxChars;
+                        long now = System.nanoTime();
+                        long firstToken = firstTokenAt[0] == 0L ? now : firstTokenAt[0];
+                        return new GenerationResult(
+                                truncated ? truncate(text, maxChars) : text.toString(),
+                                (firstToken - startedAt) / 1_000_000,
+                                (now - startedAt) / 1_000_000,
+                                truncated);
+                    }));
+        }));
+    }
+
+    // 서로게이트 쌍(이모지 등) 가운데서 자르지 않도록 코드 포인트 경계로 maxChars 이하로 자른다
+    private static String truncate(CharSequence text, int maxChars) {
+        int end = Character.isHighSurrogate(text.charAt(maxChars - 1)) ? maxChars - 1 : maxChars;
+        return text.subSequence(0, end).toString();
+    }
+
+    /**
+     * 한 번의 요청으로 n 개의 서로 다른 choice 를 받아온다.
+     * 스트리밍하지 않지만 choice 마다 같은 토큰 예산(streaming.max-tokens)을 건다.
+     */
+    public Mono<List<String>> generatePosts(String prompt, int n) {
+        Map<String, Object> requestBody = Map.of(
+                "model", properties.getModel(),
+                "store", true,
+                "n", n,
+                "max_completion_tokens", properties.getStreaming().getMaxTokens(),
+                "messages", List.of(
+                        Map.of("role", "user", "content", prompt)
+                )
+        );
+
+        return metrics.timed(PostingMetrics.GPT_GENERATE, upstreamGuards.openAi(() -> webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(json -> {
+                    List<String> variants = new ArrayList<>();
+                    json.path("choices").forEach(choice -> variants.add(choice.path("message").path("content").asText()));
+                    return variants;
+                })));
+    }
+
+    /**
+     * 이미지 한 장 생성 (디코딩한 PNG 바이트). 캐시하지 않으므로 호출부가 MediaStore 로 재사용한다.
+     */
+    public Mono<byte[]> generateImage(String prompt) {
+        OpenAiProperties.Image image = properties.getImage();
+        Map<String, Object> requestBody = Map.of(
+                "model", image.getModel(),
+                "prompt", prompt,
+                "size", image.getSize(),
+                "quality", image.getQuality(),
+                "n", 1
+        );
+
+        return metrics.timed(PostingMetrics.GPT_IMAGE, upstreamGuards.openAi(() -> webClient.post()
+                .uri("/images/generations")
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(json -> Base64.getDecoder().decode(json.path("data").get(0).path("b64_json").asText()))));
+    }
+
+    private Mono<String> requestCompletion(String model, String prompt) {
         Map<String, Object> requestBody = Map.of(
-                "model", "gpt-4.1",
+                "model", model,
                 "store", true,
                 "messages", List.of(
                         Map.of("role", "user", "content", prompt)
                 )
         );
 
-        return webClient.post()
+        return upstreamGuards.openAi(() -> webClient.post()
                 .uri("/chat/completions")
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(JsonNode.class)
-                .map(json -> json.path("choices").get(0).path("message").path("content").asText());
+                .map(json -> json.path("choices").get(0).path("message").path("content").asText()));
     }
 }
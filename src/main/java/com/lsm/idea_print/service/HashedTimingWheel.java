@@ -0,0 +1,158 @@
+package com.lsm.idea_print.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 해시 타이밍 휠.
+ * 만료 틱 번호를 휠 크기로 나눈 나머지 칸에 작업을 넣고, 한 틱마다 현재 칸에서 만료된 작업만 꺼내 실행한다.
+ * 등록/취소가 O(1) 이라 수만 개의 계정별 예약도 우선순위 큐 없이 다룰 수 있다. 정밀도는 틱 단위다.
+ */
+public class HashedTimingWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Deque<Entry>> buckets;
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Clock clock;
+    private final Consumer<Throwable> errorHandler;
+    private final ScheduledExecutorService ticker;
+    private final LongSupplier nanoTime;
+    private final long startNanos;
+    private long tick;
+
+    public record Entry(String label, Instant due, long deadlineTick, Runnable task) {
+    }
+
+    public HashedTimingWheel(Duration tickDuration, int wheelSize, Consumer<Throwable> errorHandler) {
+        this(tickDuration, wheelSize, errorHandler, Clock.systemUTC(), System::nanoTime);
+    }
+
+    // 테스트에서 시각을 고정하고 advance 를 직접 호출할 때 사용
+    HashedTimingWheel(Duration tickDuration, int wheelSize, Consumer<Throwable> errorHandler,
+                      Clock clock, LongSupplier nanoTime) {
+        this.tickNanos = tickDuration.toNanos();
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.clock = clock;
+        this.nanoTime = nanoTime;
+        this.startNanos = nanoTime.getAsLong();
+        this.errorHandler = errorHandler;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timing-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    public void schedule(String label, Instant due, Runnable task) {
+        long delayNanos = Math.max(0, Duration.between(clock.instant(), due).toNanos());
+        long deadlineTick = (nanoTime.getAsLong() - startNanos + delayNanos + tickNanos - 1) / tickNanos;
+        incoming.add(new Entry(label, due, deadlineTick, task));
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return incoming.size() + buckets.stream().mapToInt(Deque::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 라벨(작업 이름)별 대기 수
+    public Map<String, Integer> sizeByLabel() {
+        Map<String, Integer> counts = new TreeMap<>();
+        forEachPending(entry -> counts.merge(entry.label(), 1, Integer::sum));
+        return counts;
+    }
+
+    /**
+     * 지금부터 horizon 안에 예정된 작업 수를 slotWidth 단위 구간으로 묶어 돌려준다 (비어 있는 구간은 생략).
+     */
+    public Map<Instant, Integer> upcoming(Duration horizon, Duration slotWidth) {
+        Instant now = clock.instant();
+        Instant until = now.plus(horizon);
+        long width = Math.max(1, slotWidth.toMillis());
+        Map<Instant, Integer> slots = new TreeMap<>();
+        forEachPending(entry -> {
+            if (entry.due().isAfter(until)) {
+                return;
+            }
+            long slotStart = Math.floorDiv(entry.due().toEpochMilli(), width) * width;
+            slots.merge(Instant.ofEpochMilli(slotStart), 1, Integer::sum);
+        });
+        return slots;
+    }
+
+    private void forEachPending(Consumer<Entry> action) {
+        lock.lock();
+        try {
+            incoming.forEach(action);
+            buckets.forEach(bucket -> bucket.forEach(action));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 한 틱 진행. 평소에는 ticker 스레드가 틱마다 호출한다
+    void advance() {
+        List<Entry> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            Entry entry;
+            while ((entry = incoming.poll()) != null) {
+                // 이미 지난 작업은 현재 칸에 넣어 이번 틱에 실행
+                buckets.get((int) (Math.max(entry.deadlineTick(), tick) & mask)).add(entry);
+            }
+            Iterator<Entry> iterator = buckets.get((int) (tick & mask)).iterator();
+            while (iterator.hasNext()) {
+                Entry candidate = iterator.next();
+                // 같은 칸이라도 다음 바퀴 이후의 작업은 남겨 둔다
+                if (candidate.deadlineTick() <= tick) {
+                    iterator.remove();
+                    expired.add(candidate);
+                }
+            }
+            tick++;
+        } finally {
+            lock.unlock();
+        }
+        for (Entry entry : expired) {
+            try {
+                entry.task().run();
+            } catch (RuntimeException e) {
+                errorHandler.accept(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.MediaAsset;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 내용 주소 기반 로컬 미디어 저장소.
+ * 자산은 생성 파라미터(프롬프트, 모델, 크기, 변형 번호 등)의 SHA-256 으로 저장되므로
+ * 같은 파라미터의 이미지는 계정/실행이 달라도 한 번만 생성되고, 같은 키를 동시에 요청하면 생성 한 번을 공유한다.
+ * 디스크 한도를 넘으면 가장 오래 쓰지 않은 파일부터 지운다(LRU). 사용 순서는 파일 수정 시각으로 남겨 재시작 후에도 이어진다.
+ */
+@Slf4j
+@Component
+public class MediaStore {
+
+    private static final String EXTENSION = ".png";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    // 재시작 후 순서 복원용이라 접근마다 수정 시각을 바꾸지 않는다
+    private static final long TOUCH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final PostingProperties.Media properties;
+    private final Scheduler blockingScheduler;
+    private final Path root;
+
+    // 해시 -> 파일 정보. 접근 순서 LinkedHashMap 이라 맨 앞이 가장 오래 쓰지 않은 자산이다
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // 목록과 합계를 함께 바꾸므로 synchronized 대신 사용 (가상 스레드 고정 방지)
+    private final ReentrantLock lock = new ReentrantLock();
+    private long totalBytes;
+
+    // 생성 중인 키 -> 공유 결과
+    private final Map<String, Mono<MediaAsset>> inFlight = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        private final long size;
+        private long lastAccessMillis;
+        private long touchedMillis;
+
+        private Entry(long size, long lastAccessMillis) {
+            this.size = size;
+            this.lastAccessMillis = lastAccessMillis;
+            this.touchedMillis = lastAccessMillis;
+        }
+    }
+
+    public MediaStore(PostingProperties postingProperties, Scheduler blockingScheduler) {
+        this.properties = postingProperties.getMedia();
+        this.blockingScheduler = blockingScheduler;
+        this.root = Path.of(properties.getStoreDir()).toAbsolutePath();
+    }
+
+    // 기존 파일을 오래된 순으로 올려 LRU 순서를 복원하고, 쓰다 만 임시 파일은 지운다
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(root);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root, 2)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+        List<Path> assets = files.stream()
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        deleteQuietly(file);
+                        return false;
+                    }
+                    return name.endsWith(EXTENSION) && HASH.matcher(hashOf(file)).matches();
+                })
+                .sorted(Comparator.comparingLong(MediaStore::lastModifiedMillis))
+                .toList();
+        lock.lock();
+        try {
+            for (Path file : assets) {
+                long size = Files.size(file);
+                entries.put(hashOf(file), new Entry(size, lastModifiedMillis(file)));
+                totalBytes += size;
+            }
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        log.info("미디어 저장소 로드 dir={} assets={} bytes={}", root, entries.size(), totalBytes);
+    }
+
+    /**
+     * 파라미터에 해당하는 자산을 돌려준다. 없을 때만 generator 로 만들어 저장한다.
+     */
+    public Mono<MediaAsset> getOrCreate(Map<String, String> params, Supplier<Mono<byte[]>> generator) {
+        String hash = keyOf(params);
+        return Mono.defer(() -> find(hash)
+                .map(Mono::just)
+                .orElseGet(() -> inFlight.computeIfAbsent(hash, key -> generator.get()
+                        .publishOn(blockingScheduler)
+                        .map(bytes -> store(key, bytes))
+                        .doFinally(signal -> inFlight.remove(key))
+                        .cache())));
+    }
+
+    /**
+     * 저장된 자산 조회. 사용 순서를 갱신한다.
+     */
+    public Optional<MediaAsset> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        long now = System.currentTimeMillis();
+        boolean touch;
+        long size;
+        lock.lock();
+        try {
+            Entry entry = entries.get(hash);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            entry.lastAccessMillis = now;
+            touch = now - entry.touchedMillis >= TOUCH_INTERVAL_MILLIS;
+            if (touch) {
+                entry.touchedMillis = now;
+            }
+            size = entry.size;
+        } finally {
+            lock.unlock();
+        }
+        if (touch) {
+            try {
+                Files.setLastModifiedTime(path, FileTime.fromMillis(now));
+            } catch (IOException e) {
+                // 밖에서 지워진 파일이면 목록에서도 빼고 다음 요청에서 다시 만든다
+                forget(hash);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new MediaAsset(hash, path, size));
+    }
+
+    // 같은 디렉터리의 임시 파일에 쓴 뒤 원자적으로 옮기므로 읽는 쪽은 다 쓴 파일만 본다
+    private MediaAsset store(String hash, byte[] bytes) {
+        Path path = pathOf(hash);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), hash, TEMP_SUFFIX);
+            Files.write(temp, bytes);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("미디어 저장 실패 hash=" + hash, e);
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(hash, new Entry(bytes.length, System.currentTimeMillis()));
+            totalBytes += bytes.length - (previous == null ? 0 : previous.size);
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        log.debug("미디어 저장 hash={} bytes={}", hash, bytes.length);
+        return new MediaAsset(hash, path, bytes.length);
+    }
+
+    // lock 을 잡은 상태에서 호출. 최근 사용한 자산은 Threads 가 아직 가져가지 않았을 수 있어 남긴다
+    private void evictIfNeeded() {
+        long quota = properties.getMaxDiskSize().toBytes();
+        long protectedSince = System.currentTimeMillis() - properties.getMinRetention().toMillis();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > quota && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getValue().lastAccessMillis > protectedSince) {
+                // 뒤쪽은 모두 더 최근에 쓰였다
+                break;
+            }
+            deleteQuietly(pathOf(eldest.getKey()));
+            totalBytes -= eldest.getValue().size;
+            iterator.remove();
+        }
+    }
+
+    private void forget(String hash) {
+        lock.lock();
+        try {
+            Entry removed = entries.remove(hash);
+            if (removed != null) {
+                totalBytes -= removed.size;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 한 디렉터리에 파일이 몰리지 않도록 해시 앞 두 글자로 나눈다
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + EXTENSION);
+    }
+
+    static String keyOf(Map<String, String> params) {
+        StringBuilder canonical = new StringBuilder();
+        new TreeMap<>(params).forEach((name, value) -> canonical.append(name).append('=').append(value).append('\n'));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hashOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(EXTENSION) ? name.substring(0, name.length() - EXTENSION.length()) : name;
+    }
+
+    private static long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("미디어 파일 삭제 실패 {} - {}", file, e.getMessage());
+        }
+    }
+
+    public int getAssetCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTotalBytes() {
+        lock.lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -3,12 +3,14 @@ package com.lsm.idea_print.service;
 import com.lsm.idea_print.dto.request.SaveAccessTokenRequest;
 import com.lsm.idea_print.dto.response.MetaTokenResponse;
 import com.lsm.idea_print.entity.MetaToken;
+import com.lsm.idea_print.entity.TokenStatus;
 import com.lsm.idea_print.repository.MetaTokenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDateTime;
 
@@ -17,6 +19,8 @@ public class MetaTokenService {
 
     private final MetaTokenRepository metaTokenRepository;
     private final WebClient webClient;
+    private final AccountRegistry accountRegistry;
+    private final Scheduler blockingScheduler;
 
     @Value("${meta.app-id}")
     private String appId;
@@ -24,13 +28,21 @@ public class MetaTokenService {
     @Value("${meta.app-secret}")
     private String appSecret;
 
-    public MetaTokenService(WebClient.Builder builder, MetaTokenRepository metaTokenRepository) {
+    private final String redirectUri;
+
+    public MetaTokenService(WebClient.Builder builder, MetaTokenRepository metaTokenRepository,
+                            AccountRegistry accountRegistry, Scheduler blockingScheduler,
+                            @Value("${meta.oauth.base-url:https://threads.net}") String oauthBaseUrl,
+                            @Value("${meta.oauth.redirect-uri:https://localhost}") String redirectUri) {
         this.metaTokenRepository = metaTokenRepository;
+        this.accountRegistry = accountRegistry;
+        this.blockingScheduler = blockingScheduler;
+        this.redirectUri = redirectUri;
         this.webClient = builder
-                .baseUrl("https://threads.net")
+                .baseUrl(oauthBaseUrl)
                 .build();
     }
-    //TOdo: 이거 작동 되도록, 그리고 토큰만료로 인한 에러 시 이거 실행되도록
+    // 인가 코드 -> 액세스 토큰 교환. 만료 전 갱신과 인증 오류 시 재발급은 TokenLifecycleService 에서 처리
     public Mono<MetaToken> refreshToken(String accessToken, String prompt) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -38,15 +50,19 @@ public class MetaTokenService {
                         .queryParam("grant_type", "authorization_code")
                         .queryParam("client_id", appId)
                         .queryParam("client_secret", appSecret)
-                        .queryParam("redirect_uri", "https://localhost")
+                        .queryParam("redirect_uri", redirectUri)
                         .queryParam("code", accessToken)
                         .build())
                 .retrieve()
                 .bodyToMono(MetaTokenResponse.class)
+                // JPA 저장은 블로킹이므로 Netty 스레드가 아닌 blockingScheduler 에서
+                .publishOn(blockingScheduler)
                 .map(response -> {
                     MetaToken token = new MetaToken();
                     token.setAccessToken(response.getAccessToken());
-                    return metaTokenRepository.save(token);
+                    MetaToken saved = metaTokenRepository.save(token);
+                    accountRegistry.invalidate();
+                    return saved;
                 });
     }
 
@@ -57,6 +73,7 @@ public class MetaTokenService {
                 .userId(request.getUserId())
                 .build();
         metaTokenRepository.save(metaToken);
+        accountRegistry.invalidate();
         return metaToken.getId();
     }
 
@@ -64,13 +81,17 @@ public class MetaTokenService {
         MetaToken existing = metaTokenRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("아이디 없음"));
 
+        // 새 토큰이므로 이전 토큰의 상태와 만료 시각은 이어받지 않는다
         MetaToken updated = existing.toBuilder()
                 .accessToken(request.getAccessToken())
                 .prompt(request.getPrompt())
                 .userId(request.getUserId())
+                .tokenStatus(TokenStatus.ACTIVE)
+                .tokenExpiresAt(null)
                 .build();
 
         metaTokenRepository.save(updated);
+        accountRegistry.invalidate();
         return updated.getId();
     }
 }
@@ -0,0 +1,171 @@
+package com.lsm.idea_print.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsm.idea_print.config.OpenAiProperties;
+import com.lsm.idea_print.dto.response.OpenAiBatchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI 파일 기반 배치 API 클라이언트 (오프라인 모드).
+ * 계정별 프롬프트를 JSONL 파일 하나로 올려 배치를 만들고, 나중에 결과 파일을 받아 custom_id 별로 돌려준다.
+ */
+@Slf4j
+@Service
+public class OpenAiBatchClient {
+
+    private static final String CHAT_COMPLETIONS_ENDPOINT = "/v1/chat/completions";
+    // 결과 파일은 줄 단위로 흘려 읽으므로 버퍼 한도는 파일 전체가 아니라 결과 한 줄에 걸린다
+    private static final int MAX_LINE_BYTES = 4 * 1024 * 1024;
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private final WebClient webClient;
+    private final OpenAiProperties properties;
+    private final ObjectMapper objectMapper;
+    private final StringDecoder lineDecoder;
+
+    public OpenAiBatchClient(WebClient.Builder builder, OpenAiProperties properties, ObjectMapper objectMapper,
+                             @Value("${spring.ai.openai.api-key}") String apiKey) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.lineDecoder = StringDecoder.textPlainOnly(List.of("\n"), true);
+        this.lineDecoder.setMaxInMemorySize(MAX_LINE_BYTES);
+        this.webClient = builder
+                .baseUrl(properties.getBaseUrl())
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .build();
+    }
+
+    /**
+     * @param prompts custom_id -> 프롬프트
+     * @return 생성된 배치 id
+     */
+    public Mono<String> submit(Map<String, String> prompts) {
+        return Mono.fromCallable(() -> toJsonl(prompts))
+                .flatMap(this::uploadInputFile)
+                .flatMap(inputFileId -> webClient.post()
+                        .uri("/batches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of(
+                                "input_file_id", inputFileId,
+                                "endpoint", CHAT_COMPLETIONS_ENDPOINT,
+                                "completion_window", properties.getBatch().getCompletionWindow()))
+                        .retrieve()
+                        .bodyToMono(OpenAiBatchResponse.class))
+                .map(OpenAiBatchResponse::id);
+    }
+
+    public Mono<OpenAiBatchResponse> status(String batchId) {
+        return webClient.get()
+                .uri("/batches/{batchId}", batchId)
+                .retrieve()
+                .bodyToMono(OpenAiBatchResponse.class);
+    }
+
+    /**
+     * 배치가 끝날 때까지 poll-interval 간격으로 확인한 뒤 결과를 custom_id -> 본문 으로 돌려준다.
+     */
+    public Mono<Map<String, String>> awaitResults(String batchId) {
+        return poll(batchId).timeout(properties.getBatch().getTimeout());
+    }
+
+    private Mono<Map<String, String>> poll(String batchId) {
+        Duration pollInterval = properties.getBatch().getPollInterval();
+        return status(batchId)
+                .flatMap(batch -> {
+                    if (batch.isCompleted()) {
+                        return fetchResults(batch);
+                    }
+                    if (batch.isTerminalFailure()) {
+                        return Mono.error(new IllegalStateException("배치 실패: " + batchId + " (" + batch.status() + ")"));
+                    }
+                    return Mono.delay(pollInterval).then(Mono.defer(() -> poll(batchId)));
+                });
+    }
+
+    /**
+     * 결과 파일은 계정 수에 비례해 커지므로 한 번에 문자열로 모으지 않고 JSONL 한 줄씩 디코딩해 파싱한다.
+     */
+    public Mono<Map<String, String>> fetchResults(OpenAiBatchResponse batch) {
+        if (batch.outputFileId() == null) {
+            return Mono.just(Map.of());
+        }
+        Flux<DataBuffer> body = webClient.get()
+                .uri("/files/{fileId}/content", batch.outputFileId())
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        return lineDecoder.decode(body, STRING_TYPE, null, null)
+                .filter(line -> !line.isBlank())
+                .collect(LinkedHashMap::new, this::parseLine);
+    }
+
+    private Mono<String> uploadInputFile(byte[] jsonl) {
+        MultipartBodyBuilder parts = new MultipartBodyBuilder();
+        parts.part("purpose", "batch");
+        parts.part("file", new ByteArrayResource(jsonl) {
+            @Override
+            public String getFilename() {
+                return "batch.jsonl";
+            }
+        }).contentType(MediaType.APPLICATION_OCTET_STREAM);
+
+        return webClient.post()
+                .uri("/files")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(parts.build()))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(json -> json.path("id").asText());
+    }
+
+    private byte[] toJsonl(Map<String, String> prompts) throws JsonProcessingException {
+        StringBuilder jsonl = new StringBuilder();
+        for (Map.Entry<String, String> entry : prompts.entrySet()) {
+            Map<String, Object> line = Map.of(
+                    "custom_id", entry.getKey(),
+                    "method", "POST",
+                    "url", CHAT_COMPLETIONS_ENDPOINT,
+                    "body", Map.of(
+                            "model", properties.getModel(),
+                            "messages", List.of(Map.of("role", "user", "content", entry.getValue()))));
+            jsonl.append(objectMapper.writeValueAsString(line)).append('\n');
+        }
+        return jsonl.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void parseLine(Map<String, String> results, String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode response = node.path("response");
+            if (response.path("status_code").asInt() != 200) {
+                return;
+            }
+            String content = response.path("body").path("choices").path(0).path("message").path("content").asText(null);
+            if (content != null) {
+                results.put(node.path("custom_id").asText(), content);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("배치 결과 파싱 실패 - {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.dto.AccountSnapshot;
+import com.lsm.idea_print.entity.PostHistory;
+import reactor.util.context.ContextView;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계정 하나의 게시 시도. Reactor Context 로 게시 파이프라인에 전달되어
+ * 단계 타이머(PostingMetrics.timed)가 소요 시간을, TwoPhasePublisher 가 컨테이너/미디어 id 를 채운다.
+ * 끝나면 post_history 한 행이 된다.
+ */
+public class PostAttempt {
+
+    private static final int MAX_ERROR_MESSAGE = 1000;
+
+    private final AccountSnapshot account;
+    private final String runId;
+    private final String job;
+    private final LocalDateTime attemptedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+
+    // 같은 단계를 여러 번 거치면(중복 재생성, 인증 재시도) 합산한다
+    private volatile Integer generateMillis;
+    private volatile Integer createMillis;
+    private volatile Integer publishMillis;
+    private volatile String creationId;
+    private volatile String mediaId;
+    private volatile boolean succeeded;
+    private volatile Throwable error;
+
+    PostAttempt(AccountSnapshot account, ContextView context) {
+        this.account = account;
+        CoordinatedRun run = context.<CoordinatedRun>getOrEmpty(CoordinatedRun.class).orElse(null);
+        this.runId = run == null ? null : run.getId();
+        this.job = run == null ? null : run.getJob();
+    }
+
+    static void stage(ContextView context, String stage, long nanos) {
+        context.<PostAttempt>getOrEmpty(PostAttempt.class).ifPresent(attempt -> attempt.stage(stage, nanos));
+    }
+
+    static void prepared(ContextView context, String creationId) {
+        context.<PostAttempt>getOrEmpty(PostAttempt.class).ifPresent(attempt -> attempt.creationId = creationId);
+    }
+
+    static void published(ContextView context, String mediaId) {
+        context.<PostAttempt>getOrEmpty(PostAttempt.class).ifPresent(attempt -> attempt.mediaId = mediaId);
+    }
+
+    private void stage(String stage, long nanos) {
+        int millis = (int) TimeUnit.NANOSECONDS.toMillis(nanos);
+        switch (stage) {
+            // 이미지 생성도 생성 단계로 합산한다 (저장소에 있던 이미지면 호출 자체가 없다)
+            case PostingMetrics.GPT_GENERATE, PostingMetrics.GPT_IMAGE -> generateMillis = plus(generateMillis, millis);
+            case PostingMetrics.THREADS_CREATE -> createMillis = plus(createMillis, millis);
+            case PostingMetrics.THREADS_PUBLISH -> publishMillis = plus(publishMillis, millis);
+            default -> {
+            }
+        }
+    }
+
+    private static Integer plus(Integer current, int millis) {
+        return current == null ? millis : current + millis;
+    }
+
+    void succeed() {
+        succeeded = true;
+    }
+
+    void fail(Throwable error) {
+        this.error = error;
+    }
+
+    /**
+     * 시도가 끝났을 때(doFinally) 한 번 부른다. 결과도 오류도 없이 끝났으면
+     * 실행 마감/취소/드레인으로 중간에 끊긴 시도다.
+     */
+    PostHistory finish() {
+        if (succeeded) {
+            return toHistory(true, null, null);
+        }
+        if (error != null) {
+            return toHistory(false, PostingMetrics.causeOf(error), error.getMessage());
+        }
+        return toHistory(false, "cancelled", null);
+    }
+
+    private PostHistory toHistory(boolean success, String cause, String message) {
+        if (message != null && message.length() > MAX_ERROR_MESSAGE) {
+            message = message.substring(0, MAX_ERROR_MESSAGE);
+        }
+        return new PostHistory(null, attemptedAt, account.id(), account.userId(), runId, job, success,
+                creationId, mediaId, cause, message, generateMillis, createMillis, publishMillis,
+                (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+    }
+}
@@ -0,0 +1,153 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.repository.ReactiveMetaTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시글 카운트 write-behind 집계기.
+ * 게시 경로에서는 메모리 카운터만 올리고, 주기적으로 id 순 배열을 받는 UPDATE 한 문장으로 DB 에 더한다.
+ * UPDATE 가 post_count = post_count + delta 형태라 여러 파이프라인이 동시에 올려도 유실되지 않는다.
+ * 행은 id 순으로 잠그고 통계 트리거(V6)는 문장마다 토픽별로 한 번만 돌므로, 계정 수만큼 트리거가 돌거나
+ * 다른 노드의 flush 와 서로 다른 순서로 잠가 교착에 빠지지 않는다.
+ * 계정이 많으면 posting.accounts.bulk-chunk-size 단위로 나눠 보낸다.
+ * posting.reactive-db.enabled=true 면 같은 문장을 R2DBC 로 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCountAggregator {
+
+    private static final String INCREMENT_SQL = """
+            WITH delta AS (SELECT * FROM unnest(?::bigint[], ?::bigint[]) AS d(id, delta)),
+                 locked AS (SELECT m.id FROM meta_token m JOIN delta d ON d.id = m.id ORDER BY m.id FOR UPDATE OF m)
+            UPDATE meta_token m SET post_count = m.post_count + d.delta
+              FROM delta d
+             WHERE m.id = d.id AND m.id IN (SELECT id FROM locked)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostingMetrics metrics;
+    private final PostingProperties postingProperties;
+    private final ObjectProvider<ReactiveMetaTokenRepository> reactiveRepository;
+
+    // 계정 id -> 아직 반영되지 않은 증가분 (키는 계정 수만큼만 생긴다)
+    private final Map<Long, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    // 배치 UPDATE 를 락 안에서 하므로 synchronized 대신 사용 (가상 스레드 고정 방지)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void increment(Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        pending.computeIfAbsent(accountId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${posting.post-count.flush-interval:5s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        // id 순으로 모아야 청크끼리, 노드끼리 행을 같은 순서로 잠근다
+        TreeMap<Long, Long> deltas = new TreeMap<>();
+        pending.forEach((accountId, counter) -> {
+            long delta = counter.getAndSet(0);
+            if (delta > 0) {
+                deltas.put(accountId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Chunk> chunks = chunks(deltas);
+        ReactiveMetaTokenRepository reactive = reactiveRepository.getIfAvailable();
+        if (reactive != null) {
+            flushReactive(reactive, chunks);
+            return;
+        }
+        for (Chunk chunk : chunks) {
+            try {
+                metrics.timedBlocking(PostingMetrics.DB_SAVE, () -> jdbcTemplate.update(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(INCREMENT_SQL);
+                    ps.setArray(1, connection.createArrayOf("bigint", chunk.ids()));
+                    ps.setArray(2, connection.createArrayOf("bigint", chunk.deltas()));
+                    return ps;
+                }));
+            } catch (RuntimeException e) {
+                // 한 문장이라 청크 전체가 반영되지 않았다. 다음 flush 에서 다시 시도
+                requeue(chunk);
+                log.warn("게시글 카운트 반영 실패 accounts={} - {}", chunk.ids().length, e.getMessage());
+            }
+        }
+    }
+
+    // 청크 단위로 실패를 되돌리므로 일부만 실패해도 성공한 증가분이 두 번 반영되지 않는다
+    private void flushReactive(ReactiveMetaTokenRepository reactive, List<Chunk> chunks) {
+        metrics.timed(PostingMetrics.DB_SAVE, Flux.fromIterable(chunks)
+                        .flatMap(chunk -> reactive.incrementPostCounts(chunk.ids(), chunk.deltas())
+                                        .onErrorResume(e -> {
+                                            requeue(chunk);
+                                            log.warn("게시글 카운트 반영 실패 accounts={} - {}",
+                                                    chunk.ids().length, e.getMessage());
+                                            return Mono.empty();
+                                        }),
+                                postingProperties.getReactiveDb().getFlushConcurrency())
+                        .then())
+                .block();
+    }
+
+    private List<Chunk> chunks(TreeMap<Long, Long> deltas) {
+        int size = Math.max(1, postingProperties.getAccounts().getBulkChunkSize());
+        List<Chunk> chunks = new ArrayList<>();
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += size) {
+            List<Map.Entry<Long, Long>> slice = entries.subList(from, Math.min(from + size, entries.size()));
+            chunks.add(new Chunk(slice.stream().map(Map.Entry::getKey).toArray(Long[]::new),
+                    slice.stream().map(Map.Entry::getValue).toArray(Long[]::new)));
+        }
+        return chunks;
+    }
+
+    private void requeue(Chunk chunk) {
+        for (int i = 0; i < chunk.ids().length; i++) {
+            pending.computeIfAbsent(chunk.ids()[i], id -> new AtomicLong()).addAndGet(chunk.deltas()[i]);
+        }
+    }
+
+    // id 순으로 정렬된 계정 id 와 같은 위치의 증가분
+    private record Chunk(Long[] ids, Long[] deltas) {
+    }
+
+    public long getPendingCount() {
+        return pending.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
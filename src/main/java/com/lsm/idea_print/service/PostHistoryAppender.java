@@ -0,0 +1,100 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.entity.PostHistory;
+import com.lsm.idea_print.repository.PostHistoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시 이력 비동기 배치 기록기.
+ * 게시 경로는 제한된 큐에 넣기만 하고(막히지 않음), 주기적으로 또는 한 배치만큼 쌓이면
+ * blockingScheduler 에서 다중 VALUES INSERT 한 번으로 기록한다.
+ * 이력은 관측용이라 큐가 가득 차거나 INSERT 가 실패하면 다시 시도하지 않고 버린 수만 센다.
+ */
+@Slf4j
+@Component
+public class PostHistoryAppender {
+
+    private final PostHistoryRepository repository;
+    private final PostingMetrics metrics;
+    private final PostingProperties.History properties;
+    private final Scheduler blockingScheduler;
+    private final BlockingQueue<PostHistory> queue;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // 배치 INSERT 를 락 안에서 하므로 synchronized 대신 사용 (가상 스레드 고정 방지)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public PostHistoryAppender(PostHistoryRepository repository, PostingMetrics metrics,
+                               PostingProperties postingProperties, Scheduler blockingScheduler) {
+        this.repository = repository;
+        this.metrics = metrics;
+        this.properties = postingProperties.getHistory();
+        this.blockingScheduler = blockingScheduler;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    public void append(PostHistory entry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        // 한 배치가 찼으면 주기를 기다리지 않고 바로 비운다 (요청은 하나로 합쳐진다)
+        if (queue.size() >= properties.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+            blockingScheduler.schedule(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${posting.history.flush-interval:1s}")
+    public void flush() {
+        flushRequested.set(false);
+        flushLock.lock();
+        try {
+            List<PostHistory> batch = new ArrayList<>(properties.getBatchSize());
+            while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<PostHistory> batch) {
+        try {
+            metrics.timedBlocking(PostingMetrics.DB_SAVE, () -> repository.insertAll(batch));
+        } catch (RuntimeException e) {
+            dropped.addAndGet(batch.size());
+            log.warn("게시 이력 기록 실패 rows={} - {}", batch.size(), e.getMessage());
+        }
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
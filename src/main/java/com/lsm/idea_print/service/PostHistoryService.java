@@ -0,0 +1,103 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.response.PostHistoryPage;
+import com.lsm.idea_print.entity.PostHistory;
+import com.lsm.idea_print.repository.PostHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 게시 이력 조회와 일 파티션 관리.
+ * 조회는 (attempted_at, id) 키셋 페이지라 몇 번째 페이지든 같은 비용이고, 커서는 마지막 행의 두 값을 인코딩한 문자열이다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final PostHistoryRepository repository;
+    private final PostingProperties postingProperties;
+
+    /**
+     * @param cursor 이전 페이지의 nextCursor. null 이면 가장 최근부터
+     * @param since  null 이면 보관 기간 전체
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public PostHistoryPage page(Long accountId, boolean failuresOnly, LocalDateTime since, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime from = since != null ? since : oldestRetained();
+        LocalDateTime beforeAt = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decode(cursor);
+            beforeAt = LocalDateTime.parse(parts[0]);
+            beforeId = Long.parseLong(parts[1]);
+        }
+        // 한 행 더 읽어 다음 페이지가 있는지 안다
+        List<PostHistory> rows = repository.findPage(accountId, failuresOnly, from, beforeAt, beforeId, size + 1);
+        if (rows.size() <= size) {
+            return new PostHistoryPage(rows, null);
+        }
+        List<PostHistory> items = rows.subList(0, size);
+        PostHistory last = items.get(size - 1);
+        return new PostHistoryPage(List.copyOf(items), encode(last));
+    }
+
+    private LocalDateTime oldestRetained() {
+        int retentionDays = (int) postingProperties.getHistory().getRetention().toDays();
+        // 보관 기간이 0 이면 전체. 파티션 하한보다 이른 값이면 충분하다
+        return retentionDays > 0
+                ? LocalDateTime.now().toLocalDate().minusDays(retentionDays).atStartOfDay()
+                : LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
+
+    private static String encode(PostHistory row) {
+        String raw = row.attemptedAt() + "|" + row.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("잘못된 커서: " + cursor);
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+    }
+
+    // 기동 시 한 번, 이후 매일 미리 파티션을 만들어 둔다. 파티션이 없는 날의 INSERT 는 실패하므로 며칠 앞까지 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${posting.history.partition-cron:0 10 0 * * *}")
+    public void maintainPartitions() {
+        PostingProperties.History history = postingProperties.getHistory();
+        try {
+            int dropped = repository.maintainPartitions(history.getPartitionsAhead(),
+                    (int) history.getRetention().toDays());
+            if (dropped > 0) {
+                log.info("보관 기간이 지난 게시 이력 파티션 삭제 count={}", dropped);
+            }
+        } catch (RuntimeException e) {
+            // 다른 노드와 동시에 만들다 충돌하면 다음 주기에 다시 맞춘다
+            log.warn("게시 이력 파티션 관리 실패 - {}", e.getMessage());
+        }
+    }
+}
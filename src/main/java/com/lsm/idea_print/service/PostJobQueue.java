@@ -0,0 +1,174 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Postgres 기반 내구성 게시 작업 큐.
+ * 작업은 FOR UPDATE SKIP LOCKED 로 배치 단위로 가져가므로 여러 노드가 같은 실행을 겹치지 않게 나눠 처리한다.
+ * 완료/실패 처리는 임대 소유자가 일치할 때만 반영된다 (임대가 만료되어 다른 노드로 넘어간 작업은 건드리지 않음).
+ * 작업 창 실행의 작업은 예약 시각(due_at)이 지나야 일괄 처리 대상이 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostJobQueue {
+
+    private static final String ENQUEUE_SQL = """
+            INSERT INTO post_job (run_key, account_id, idempotency_key, status, attempts, created_at, updated_at)
+            VALUES (?, ?, ?, 'PENDING', 0, now(), now())
+            ON CONFLICT (idempotency_key) DO NOTHING
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE post_job
+               SET status = 'RUNNING', lease_owner = ?, lease_until = ?, attempts = attempts + 1, updated_at = now()
+             WHERE id IN (
+                   SELECT id FROM post_job
+                    WHERE run_key = ?
+                      AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < now()))
+                      AND attempts < ?
+                      AND (due_at IS NULL OR due_at <= now())
+                    ORDER BY id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+            RETURNING id, account_id, creation_id, attempts
+            """;
+
+    // 타이밍 휠이 계정 하나의 예약 시각에 그 계정 작업만 가져갈 때 사용
+    private static final String CLAIM_ACCOUNT_SQL = """
+            UPDATE post_job
+               SET status = 'RUNNING', lease_owner = ?, lease_until = ?, attempts = attempts + 1, updated_at = now()
+             WHERE id IN (
+                   SELECT id FROM post_job
+                    WHERE run_key = ?
+                      AND account_id = ?
+                      AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < now()))
+                      AND attempts < ?
+                    FOR UPDATE SKIP LOCKED)
+            RETURNING id, account_id, creation_id, attempts
+            """;
+
+    private static final String EXTEND_LEASES_SQL = """
+            UPDATE post_job SET lease_until = ?, updated_at = now()
+             WHERE id = ANY(?) AND lease_owner = ? AND status = 'RUNNING'
+            """;
+
+    // 여러 노드가 같은 실행을 예약해도 처음 기록한 시각을 유지한다
+    private static final String RECORD_DUE_SQL = """
+            UPDATE post_job SET due_at = ?, updated_at = now()
+             WHERE idempotency_key = ? AND due_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostingProperties properties;
+
+    public record ClaimedJob(Long id, Long accountId, String creationId, int attempts) {
+    }
+
+    public record ScheduledJob(String runKey, Long accountId, LocalDateTime dueAt) {
+    }
+
+    public void enqueueRun(String runKey, List<Long> accountIds) {
+        jdbcTemplate.batchUpdate(ENQUEUE_SQL, accountIds.stream()
+                .map(accountId -> new Object[]{runKey, accountId, runKey + ":" + accountId})
+                .toList());
+    }
+
+    /**
+     * 작업 창 실행의 계정별 예약 시각을 남긴다. 예약 전에는 claim(일괄 처리)이 가져가지 않는다.
+     */
+    public void recordDue(String runKey, Map<Long, LocalDateTime> dueAt) {
+        jdbcTemplate.batchUpdate(RECORD_DUE_SQL, dueAt.entrySet().stream()
+                .map(entry -> new Object[]{Timestamp.valueOf(entry.getValue()), runKey + ":" + entry.getKey()})
+                .toList());
+    }
+
+    /**
+     * 아직 예약 시각이 오지 않은 대기 작업 (재시작 시 타이밍 휠 복원용)
+     */
+    public List<ScheduledJob> findScheduled(LocalDateTime since) {
+        return jdbcTemplate.query("""
+                        SELECT run_key, account_id, due_at FROM post_job
+                         WHERE status = 'PENDING' AND due_at > now() AND created_at > ?
+                        """,
+                (rs, rowNum) -> new ScheduledJob(rs.getString("run_key"), rs.getLong("account_id"),
+                        rs.getTimestamp("due_at").toLocalDateTime()),
+                Timestamp.valueOf(since));
+    }
+
+    public List<ClaimedJob> claim(String runKey, String owner) {
+        PostingProperties.Jobs jobs = properties.getJobs();
+        Timestamp leaseUntil = Timestamp.valueOf(LocalDateTime.now().plus(jobs.getLease()));
+        return jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new ClaimedJob(rs.getLong("id"), rs.getLong("account_id"),
+                        rs.getString("creation_id"), rs.getInt("attempts")),
+                owner, leaseUntil, runKey, jobs.getMaxAttempts(), jobs.getBatchSize());
+    }
+
+    public List<ClaimedJob> claimAccount(String runKey, Long accountId, String owner) {
+        PostingProperties.Jobs jobs = properties.getJobs();
+        Timestamp leaseUntil = Timestamp.valueOf(LocalDateTime.now().plus(jobs.getLease()));
+        return jdbcTemplate.query(CLAIM_ACCOUNT_SQL,
+                (rs, rowNum) -> new ClaimedJob(rs.getLong("id"), rs.getLong("account_id"),
+                        rs.getString("creation_id"), rs.getInt("attempts")),
+                owner, leaseUntil, runKey, accountId, jobs.getMaxAttempts());
+    }
+
+    /**
+     * 진행 중인 작업의 임대를 연장한다. 게시가 임대 시간보다 오래 걸려도 다른 노드가 가져가지 않게 한다.
+     * 이미 끝났거나 다른 노드로 넘어간 작업은 건드리지 않는다.
+     */
+    public int extendLeases(List<Long> jobIds, String owner) {
+        Timestamp leaseUntil = Timestamp.valueOf(LocalDateTime.now().plus(properties.getJobs().getLease()));
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXTEND_LEASES_SQL);
+            ps.setTimestamp(1, leaseUntil);
+            ps.setArray(2, connection.createArrayOf("bigint", jobIds.toArray()));
+            ps.setString(3, owner);
+            return ps;
+        });
+    }
+
+    /**
+     * 마지막 시도 중에 워커가 죽어 임대가 만료된 작업을 FAILED 로 정리한다.
+     * 재시도 횟수가 남은 작업은 claim 이 다시 가져가므로 대상이 아니다.
+     */
+    public int reapExpired() {
+        return jdbcTemplate.update("""
+                UPDATE post_job
+                   SET status = 'FAILED', lease_until = NULL,
+                       last_error = COALESCE(last_error, '마지막 시도 중 임대 만료'), updated_at = now()
+                 WHERE status = 'RUNNING' AND lease_until < now() AND attempts >= ?
+                """, properties.getJobs().getMaxAttempts());
+    }
+
+    public void recordCreation(Long jobId, String owner, String creationId) {
+        jdbcTemplate.update("UPDATE post_job SET creation_id = ?, updated_at = now() WHERE id = ? AND lease_owner = ?",
+                creationId, jobId, owner);
+    }
+
+    public void complete(Long jobId, String owner) {
+        jdbcTemplate.update("""
+                UPDATE post_job SET status = 'DONE', lease_until = NULL, last_error = NULL, updated_at = now()
+                 WHERE id = ? AND lease_owner = ?
+                """, jobId, owner);
+    }
+
+    // 재시도 횟수가 남아 있으면 다시 PENDING, 아니면 FAILED
+    public void fail(Long jobId, String owner, String error) {
+        jdbcTemplate.update("""
+                UPDATE post_job
+                   SET status = CASE WHEN attempts < ? THEN 'PENDING' ELSE 'FAILED' END,
+                       lease_until = NULL, last_error = ?, updated_at = now()
+                 WHERE id = ? AND lease_owner = ?
+                """, properties.getJobs().getMaxAttempts(), error, jobId, owner);
+    }
+}
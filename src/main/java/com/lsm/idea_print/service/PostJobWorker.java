@@ -0,0 +1,219 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.AccountSnapshot;
+import com.lsm.idea_print.dto.response.PostResultResponse;
+import com.lsm.idea_print.entity.PostJobStatus;
+import com.lsm.idea_print.repository.PostJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * post_job 큐를 비울 때까지 배치 단위로 작업을 가져와 게시한다.
+ * 같은 run_key 로 여러 노드가 동시에 실행해도 각 계정은 한 번만 게시되고,
+ * 중간에 죽은 실행은 재시작 시 남은 작업부터 이어서 처리된다.
+ * 처리 중인 작업은 임대를 연장하고, 마지막 시도 중 워커가 죽어 남은 작업은 주기적으로 실패 처리한다.
+ * 작업 상태 기록(DB)이 실패해도 그 작업만 실패 결과로 끝나고 같은 실행의 다른 게시는 계속된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostJobWorker {
+
+    // 재개한 실행이 정기 실행과 겹치지 않도록 같은 작업 이름을 쓴다
+    private static final String DAILY_JOB = "daily-post";
+    private static final int SETTLE_RETRIES = 3;
+
+    private final PostJobQueue postJobQueue;
+    private final PostJobRepository postJobRepository;
+    private final AccountRegistry accountRegistry;
+    private final ThreadsPostService threadsPostService;
+    private final PostingFanOutEngine fanOutEngine;
+    private final Scheduler blockingScheduler;
+    private final PostingProperties postingProperties;
+    private final RunCoordinator runCoordinator;
+
+    private final String workerId = resolveWorkerId();
+
+    /**
+     * 실행을 등록(이미 있으면 무시)하고 이 노드 몫의 작업을 처리한다.
+     */
+    public Flux<PostResultResponse> runDaily(String runKey) {
+        return enqueue(runKey).thenMany(Flux.defer(() -> drain(runKey)));
+    }
+
+    /**
+     * 실행만 등록하고 등록 대상 계정 id 를 돌려준다. 처리는 drain 또는 계정별 processAccount 로 한다.
+     */
+    public Mono<List<Long>> enqueue(String runKey) {
+        // 설정 파일 계정(id 없음)은 작업 행을 만들 수 없어 큐 실행 대상에서 제외된다
+        return accountRegistry.accounts()
+                .filter(AccountSnapshot::isPostable)
+                .mapNotNull(AccountSnapshot::id)
+                .collectList()
+                .flatMap(accountIds -> blockingRun(() -> postJobQueue.enqueueRun(runKey, accountIds)).thenReturn(accountIds));
+    }
+
+    // 작업 창 예약 시각 기록
+    public Mono<Void> recordDue(String runKey, Map<Long, LocalDateTime> dueAt) {
+        return blockingRun(() -> postJobQueue.recordDue(runKey, dueAt));
+    }
+
+    // 하루 안에 등록된 실행 중 아직 예약 시각이 오지 않은 작업
+    public Mono<List<PostJobQueue.ScheduledJob>> findScheduled() {
+        return blockingCall(() -> postJobQueue.findScheduled(LocalDateTime.now().minusDays(1)));
+    }
+
+    // 한 계정의 작업만 처리 (다른 노드가 이미 가져갔거나 끝났으면 아무것도 하지 않음)
+    public Flux<PostResultResponse> processAccount(String runKey, Long accountId) {
+        return blockingCall(() -> postJobQueue.claimAccount(runKey, accountId, workerId))
+                .flatMapMany(jobs -> jobs.isEmpty() ? Flux.empty() : processBatch(jobs));
+    }
+
+    public Flux<PostResultResponse> drain(String runKey) {
+        // 실행이 드레인 중이면 다음 배치를 가져오지 않는다 (남은 작업은 재시작 시 이어서 처리)
+        return Flux.deferContextual(context -> CoordinatedRun.isDraining(context)
+                ? Flux.<PostResultResponse>empty()
+                : blockingCall(() -> postJobQueue.claim(runKey, workerId))
+                        .flatMapMany(jobs -> jobs.isEmpty()
+                                ? Flux.empty()
+                                : processBatch(jobs).concatWith(Flux.defer(() -> drain(runKey)))));
+    }
+
+    /**
+     * 재시작 시 하루 안에 만들어진 미완료 실행을 이어서 처리 (작업 창 실행은 예약 시각이 지난 작업만, 나머지는 PostingWindowScheduler 가 다시 예약).
+     * 정기 실행과 같은 daily-post 작업으로 RunCoordinator 에 등록하므로 겹침 정책, 마감, 진행 현황, 취소, 드레인을 똑같이 따른다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        blockingCall(() -> postJobRepository.findRunKeysWithStatusSince(
+                        List.of(PostJobStatus.PENDING, PostJobStatus.RUNNING), LocalDateTime.now().minusDays(1)))
+                .subscribe(runKeys -> {
+                    if (runKeys.isEmpty()) {
+                        return;
+                    }
+                    runCoordinator.submit(DAILY_JOB, run -> Flux.fromIterable(runKeys)
+                                    .concatMap(runKey -> drain(runKey)
+                                            .doOnComplete(() -> log.info("중단된 실행 재개 완료 runKey={}", runKey))))
+                            .ifPresent(run -> log.info("중단된 실행 재개 runKeys={} runId={}", runKeys, run.getId()));
+                }, error -> log.warn("중단된 실행 조회 실패 - {}", error.getMessage()));
+    }
+
+    @Scheduled(fixedDelayString = "${posting.jobs.reap-interval:1m}")
+    public void reapExpiredJobs() {
+        try {
+            int reaped = postJobQueue.reapExpired();
+            if (reaped > 0) {
+                log.warn("마지막 시도 중 임대가 만료된 작업을 실패 처리 count={}", reaped);
+            }
+        } catch (RuntimeException e) {
+            log.warn("만료 작업 정리 실패 - {}", e.getMessage());
+        }
+    }
+
+    // 배치가 끝날 때까지 임대를 주기적으로 연장한다 (이미지 처리 대기 등으로 게시가 길어져도 다른 노드가 가져가지 않게)
+    private Flux<PostResultResponse> processBatch(List<PostJobQueue.ClaimedJob> jobs) {
+        List<Long> jobIds = jobs.stream().map(PostJobQueue.ClaimedJob::id).toList();
+        return Flux.using(() -> renewLeases(jobIds), renewal -> blockingCall(() -> accountRegistry.findByIds(
+                                jobs.stream().map(PostJobQueue.ClaimedJob::accountId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(AccountSnapshot::id, Function.identity())))
+                .flatMapMany(accounts -> fanOutEngine.fanOut(jobs,
+                        job -> String.valueOf(job.accountId()),
+                        job -> process(job, accounts),
+                        this::quotaExceeded)),
+                Disposable::dispose);
+    }
+
+    // 한도 콜백은 동기라 기록은 기다리지 않는다. 기록 전까지는 RUNNING 이므로 같은 drain 이 다시 가져가지 않는다
+    private PostResultResponse quotaExceeded(PostJobQueue.ClaimedJob job) {
+        PostResultResponse result = new PostResultResponse(String.valueOf(job.accountId()), false, "계정별 게시 한도 초과");
+        blockingRun(() -> postJobQueue.fail(job.id(), workerId, result.getMessage()))
+                .subscribe(unused -> {
+                }, error -> log.warn("작업 상태 기록 실패 jobId={} - {}", job.id(), error.getMessage()));
+        return result;
+    }
+
+    // 끝난 작업은 UPDATE 조건(status = RUNNING)에서 빠지므로 배치 전체를 한 문장으로 연장한다
+    private Disposable renewLeases(List<Long> jobIds) {
+        Duration interval = postingProperties.getJobs().getLease().dividedBy(3);
+        return Flux.interval(interval, interval)
+                .concatMap(tick -> blockingCall(() -> postJobQueue.extendLeases(jobIds, workerId))
+                        .onErrorResume(error -> {
+                            log.warn("작업 임대 연장 실패 jobs={} - {}", jobIds.size(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    private Mono<PostResultResponse> process(PostJobQueue.ClaimedJob job, Map<Long, AccountSnapshot> accounts) {
+        AccountSnapshot account = accounts.get(job.accountId());
+        if (account == null) {
+            return settle(job, new PostResultResponse(String.valueOf(job.accountId()), false, "계정 없음"));
+        }
+        // recordCreation 이 실패하면 postDailyContentForJob 이 게시하지 않고 실패 결과로 돌려준다
+        return threadsPostService.postDailyContentForJob(account, job.creationId(),
+                        creationId -> blockingRun(() -> postJobQueue.recordCreation(job.id(), workerId, creationId)))
+                .flatMap(result -> settle(job, result));
+    }
+
+    /**
+     * 작업 결과를 기록한다. 잠깐의 DB 오류는 몇 번 다시 시도하고, 그래도 실패하면 이 작업만 실패 결과로 끝낸다.
+     * 게시는 됐는데 완료를 기록하지 못한 작업은 임대 만료 후 다시 잡히지만, 컨테이너 id 가 기록되어 있어
+     * TwoPhasePublisher.resume 이 게시 여부를 먼저 확인하므로 두 번 게시되지 않는다.
+     */
+    private Mono<PostResultResponse> settle(PostJobQueue.ClaimedJob job, PostResultResponse result) {
+        return blockingRun(() -> {
+                    if (result.isSuccess()) {
+                        postJobQueue.complete(job.id(), workerId);
+                    } else {
+                        postJobQueue.fail(job.id(), workerId, result.getMessage());
+                    }
+                })
+                .retryWhen(Retry.backoff(SETTLE_RETRIES, Duration.ofMillis(200)))
+                .thenReturn(result)
+                .onErrorResume(error -> {
+                    log.error("작업 상태 기록 실패 jobId={} accountId={} success={} - {}", job.id(), job.accountId(),
+                            result.isSuccess(), error.getMessage());
+                    return Mono.just(new PostResultResponse(result.getUserId(), false,
+                            "작업 상태 기록 실패: " + error.getMessage()));
+                });
+    }
+
+    private <T> Mono<T> blockingCall(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(blockingScheduler);
+    }
+
+    private Mono<Void> blockingRun(Runnable call) {
+        return Mono.<Void>fromRunnable(call).subscribeOn(blockingScheduler);
+    }
+
+    private static String resolveWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
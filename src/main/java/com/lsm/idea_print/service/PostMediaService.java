@@ -0,0 +1,91 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.OpenAiProperties;
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.MediaAsset;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게시글에 붙일 이미지 준비 (posting.media.format).
+ * 이미지는 계정 프롬프트와 생성 파라미터, 변형 번호로 MediaStore 에 저장되므로
+ * 같은 프롬프트를 쓰는 계정과 이후 실행은 이미 만든 이미지를 다시 쓴다. 변형은 날짜별로 돌아간다.
+ * 이미지는 만든 노드의 로컬 디스크에만 있으므로 URL 은 그 노드 주소(posting.media.node-base-url)로 만든다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostMediaService {
+
+    private static final int MAX_CAROUSEL = 20;
+
+    private final Gpt4Service gpt4Service;
+    private final MediaStore mediaStore;
+    private final PostingProperties postingProperties;
+    private final OpenAiProperties openAiProperties;
+
+    /**
+     * 게시에 붙일 이미지 URL. 이 노드를 가리키므로 Threads 가 다른 노드에서 가져가다 404 를 받지 않는다.
+     * TEXT 형식이거나 공개 주소가 없으면 빈 목록이다.
+     * 이미지를 준비하지 못해도 게시는 막지 않고 문장만 올린다.
+     */
+    public Mono<List<String>> imageUrls(String prompt) {
+        PostingProperties.Media media = postingProperties.getMedia();
+        int count = switch (media.getFormat()) {
+            case TEXT -> 0;
+            case IMAGE -> 1;
+            case CAROUSEL -> Math.max(2, Math.min(media.getCarouselSize(), MAX_CAROUSEL));
+        };
+        if (count == 0 || baseUrl(media) == null) {
+            return Mono.just(List.of());
+        }
+        int variants = Math.max(count, media.getVariants());
+        int first = LocalDate.now().getDayOfYear() * count % variants;
+        return Flux.range(0, count)
+                .flatMapSequential(i -> asset(media, prompt, (first + i) % variants))
+                .map(asset -> urlOf(media, asset))
+                .collectList()
+                .onErrorResume(error -> {
+                    log.warn("게시 이미지 준비 실패, 문장만 게시 - {}", error.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    private Mono<MediaAsset> asset(PostingProperties.Media media, String prompt, int variant) {
+        OpenAiProperties.Image image = openAiProperties.getImage();
+        String imagePrompt = media.getImagePrompt() + prompt;
+        Map<String, String> params = Map.of(
+                "prompt", imagePrompt,
+                "model", image.getModel(),
+                "size", image.getSize(),
+                "quality", image.getQuality(),
+                "variant", String.valueOf(variant));
+        return mediaStore.getOrCreate(params, () -> gpt4Service.generateImage(imagePrompt));
+    }
+
+    private static String urlOf(PostingProperties.Media media, MediaAsset asset) {
+        String base = baseUrl(media);
+        if (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+        return base + "/media/" + asset.hash() + ".png";
+    }
+
+    // 노드 주소가 있으면 그쪽, 없으면 공용 주소 (단일 노드이거나 앞단이 노드 고정 라우팅을 할 때)
+    private static String baseUrl(PostingProperties.Media media) {
+        if (media.getNodeBaseUrl() != null && !media.getNodeBaseUrl().isBlank()) {
+            return media.getNodeBaseUrl();
+        }
+        if (media.getPublicBaseUrl() != null && !media.getPublicBaseUrl().isBlank()) {
+            return media.getPublicBaseUrl();
+        }
+        return null;
+    }
+}
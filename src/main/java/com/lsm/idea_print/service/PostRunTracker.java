@@ -0,0 +1,29 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.dto.response.PostResultResponse;
+import com.lsm.idea_print.dto.response.PostRunSummary;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시 실행 결과를 목록에 쌓지 않고 카운터로만 집계한다.
+ * 계정 수와 무관하게 메모리 사용량이 일정하다.
+ */
+public class PostRunTracker {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong success = new AtomicLong();
+    private final AtomicLong failure = new AtomicLong();
+
+    public PostResultResponse record(PostResultResponse result) {
+        (result.isSuccess() ? success : failure).incrementAndGet();
+        return result;
+    }
+
+    public PostRunSummary summary() {
+        long successCount = success.get();
+        long failureCount = failure.get();
+        return new PostRunSummary(successCount + failureCount, successCount, failureCount,
+                System.currentTimeMillis() - startedAt);
+    }
+}
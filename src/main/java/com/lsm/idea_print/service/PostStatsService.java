@@ -0,0 +1,59 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.dto.response.AccountPostCount;
+import com.lsm.idea_print.dto.response.DailyPostStats;
+import com.lsm.idea_print.dto.response.PostStatsSummary;
+import com.lsm.idea_print.dto.response.TopicPostStats;
+import com.lsm.idea_print.repository.MetaTokenRepository;
+import com.lsm.idea_print.repository.PostStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 게시 통계 조회. 합계는 트리거가 증분으로 유지하는 집계 테이블에서, 순위는 post_count 인덱스에서 읽는다.
+ * 게시 수는 PostCountAggregator 의 flush 주기만큼 늦게 반영된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostStatsService {
+
+    private static final int MAX_TOP = 100;
+    private static final int MAX_DAYS = 366;
+
+    private final PostStatsRepository postStatsRepository;
+    private final MetaTokenRepository metaTokenRepository;
+
+    public PostStatsSummary summary() {
+        List<TopicPostStats> topics = postStatsRepository.findTopics();
+        long accounts = topics.stream().mapToLong(TopicPostStats::accounts).sum();
+        long posts = topics.stream().mapToLong(TopicPostStats::posts).sum();
+        return new PostStatsSummary(accounts, posts, postStatsRepository.sumDay(LocalDate.now()), topics.size());
+    }
+
+    public List<TopicPostStats> topics() {
+        return postStatsRepository.findTopics();
+    }
+
+    /**
+     * @param days      오늘을 포함한 최근 일수
+     * @param topicName null 이면 전체 토픽 합계
+     */
+    public List<DailyPostStats> daily(int days, String topicName) {
+        int span = Math.max(1, Math.min(days, MAX_DAYS));
+        return postStatsRepository.findDaily(LocalDate.now().minusDays(span - 1), topicName);
+    }
+
+    /**
+     * @param topicName null 이면 전체 계정 중에서
+     */
+    public List<AccountPostCount> top(int limit, String topicName) {
+        Limit size = Limit.of(Math.max(1, Math.min(limit, MAX_TOP)));
+        return topicName == null
+                ? metaTokenRepository.findTopByPostCount(size)
+                : metaTokenRepository.findTopByPostCountInTopic(topicName, size);
+    }
+}
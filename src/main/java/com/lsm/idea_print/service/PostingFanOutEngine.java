@@ -0,0 +1,85 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 다계정 게시 공용 팬아웃 엔진.
+ * 전체 동시 실행 수를 posting.concurrency 로 제한하고, 계정별 게시 한도를 넘은 계정은 작업을 실행하지 않는다.
+ * 업스트림 속도 제한은 각 호출 지점에서 {@link UpstreamGuards} 로 적용된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostingFanOutEngine {
+
+    private final PostingProperties properties;
+
+    // 계정 키 -> 현재 윈도우 사용량
+    private final Map<String, QuotaWindow> quotaWindows = new ConcurrentHashMap<>();
+
+    public <A, R> Flux<R> fanOut(Iterable<A> accounts,
+                                 Function<A, String> accountKey,
+                                 Function<A, Mono<R>> task,
+                                 Function<A, R> quotaExceeded) {
+        return fanOut(Flux.fromIterable(accounts), accountKey, task, quotaExceeded);
+    }
+
+    // 계정 목록을 페이지 단위로 흘려받는 경우. flatMap 이 동시 실행 수만큼만 요청하므로 백프레셔가 걸린다
+    public <A, R> Flux<R> fanOut(Publisher<A> accounts,
+                                 Function<A, String> accountKey,
+                                 Function<A, Mono<R>> task,
+                                 Function<A, R> quotaExceeded) {
+        return Flux.deferContextual(context -> {
+            // RunCoordinator 실행 안이면 게시 시작을 알리고, 드레인 신호 이후로는 새 계정을 받지 않는다
+            Optional<CoordinatedRun> run = context.getOrEmpty(CoordinatedRun.class);
+            Flux<A> source = run.map(r -> Flux.from(accounts).takeUntilOther(r.drainSignal()))
+                    .orElseGet(() -> Flux.from(accounts));
+            return source.flatMap(account -> tryAcquireQuota(accountKey.apply(account))
+                            ? Mono.defer(() -> {
+                                run.ifPresent(CoordinatedRun::started);
+                                return task.apply(account);
+                            })
+                            : Mono.fromSupplier(() -> quotaExceeded.apply(account)),
+                    Math.max(1, properties.getConcurrency()));
+        });
+    }
+
+    boolean tryAcquireQuota(String key) {
+        PostingProperties.AccountQuota quota = properties.getAccountQuota();
+        if (quota.getMaxPosts() <= 0 || key == null) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        long windowMillis = quota.getWindow().toMillis();
+        boolean[] acquired = new boolean[1];
+        quotaWindows.compute(key, (k, window) -> {
+            if (window == null || now - window.startedAt >= windowMillis) {
+                window = new QuotaWindow(now);
+            }
+            if (window.used < quota.getMaxPosts()) {
+                window.used++;
+                acquired[0] = true;
+            }
+            return window;
+        });
+        return acquired[0];
+    }
+
+    private static final class QuotaWindow {
+        private final long startedAt;
+        private int used;
+
+        private QuotaWindow(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.exception.DuplicateContentException;
+import com.lsm.idea_print.exception.ThreadsApiException;
+import com.lsm.idea_print.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+/**
+ * 게시 파이프라인 계측.
+ * posting.stage.duration   단계별 소요 시간 (stage = gpt.generate, gpt.image, threads.create, threads.publish, db.save)
+ * posting.results          게시 결과 (outcome, cause). 계정은 태그로 달지 않는다 (계정 수만큼 시계열이 생긴다).
+ *                          계정별 결과는 post_history 와 로그(userId)로 본다
+ * posting.scheduled.run    @Scheduled 작업 한 번의 실행 시간 히스토그램 (job)
+ * posting.dedup.checks     중복 색인 확인 결과 (outcome = bloom_negative, unique, duplicate, regenerated, error)
+ * 동시 실행 중인 요청 수 등 게이지는 MetricsConfig 에서 등록한다.
+ */
+@Component
+public class PostingMetrics {
+
+    public static final String GPT_GENERATE = "gpt.generate";
+    public static final String GPT_FIRST_TOKEN = "gpt.first_token";
+    public static final String GPT_IMAGE = "gpt.image";
+    public static final String THREADS_CREATE = "threads.create";
+    public static final String THREADS_PUBLISH = "threads.publish";
+    public static final String DB_SAVE = "db.save";
+
+    private final MeterRegistry registry;
+
+    public PostingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // 구독 시점부터 완료/오류/취소까지의 시간을 잰다. 게시 시도(PostAttempt) 안이면 그 시도의 단계 시간에도 더한다
+    public <T> Mono<T> timed(String stage, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            Timer.Sample sample = Timer.start(registry);
+            return source
+                    .doOnSuccess(result -> PostAttempt.stage(context, stage, sample.stop(stageTimer(stage, "success"))))
+                    .doOnError(error -> PostAttempt.stage(context, stage, sample.stop(stageTimer(stage, "error"))))
+                    .doOnCancel(() -> sample.stop(stageTimer(stage, "cancelled")));
+        });
+    }
+
+    public void recordStage(String stage, Duration duration) {
+        stageTimer(stage, "success").record(duration);
+    }
+
+    public void timedBlocking(String stage, Runnable work) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            work.run();
+            sample.stop(stageTimer(stage, "success"));
+        } catch (RuntimeException e) {
+            sample.stop(stageTimer(stage, "error"));
+            throw e;
+        }
+    }
+
+    public <T> Mono<T> timedRun(String job, Mono<T> run) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return run.doFinally(signal -> sample.stop(runTimer(job)));
+        });
+    }
+
+    public void timedRun(String job, Runnable run) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            run.run();
+        } finally {
+            sample.stop(runTimer(job));
+        }
+    }
+
+    public void success() {
+        result("success", "none");
+    }
+
+    public void failure(Throwable error) {
+        result("failure", causeOf(error));
+    }
+
+    public void failure(String cause) {
+        result("failure", cause);
+    }
+
+    public void dedup(String outcome) {
+        Counter.builder("posting.dedup.checks")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    private void result(String outcome, String cause) {
+        Counter.builder("posting.results")
+                .tag("outcome", outcome)
+                .tag("cause", cause)
+                .register(registry)
+                .increment();
+    }
+
+    private Timer stageTimer(String stage, String outcome) {
+        return Timer.builder("posting.stage.duration")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer runTimer(String job) {
+        return Timer.builder("posting.scheduled.run")
+                .tag("job", job)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(registry);
+    }
+
+    static String causeOf(Throwable error) {
+        if (error instanceof UpstreamUnavailableException) {
+            return "circuit_open";
+        }
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (error instanceof DuplicateContentException) {
+            return "duplicate";
+        }
+        int status = 0;
+        if (error instanceof ThreadsApiException apiException && apiException.getStatusCode() != null) {
+            if (TokenLifecycleService.isAuthFailure(apiException)) {
+                return "auth";
+            }
+            status = apiException.getStatusCode().value();
+        } else if (error instanceof WebClientResponseException responseException) {
+            status = responseException.getStatusCode().value();
+        }
+        if (status == 429) {
+            return "rate_limited";
+        }
+        if (status >= 500) {
+            return "upstream_5xx";
+        }
+        if (status >= 400) {
+            return "client_error";
+        }
+        return "other";
+    }
+}
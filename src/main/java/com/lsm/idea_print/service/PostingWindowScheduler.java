@@ -0,0 +1,250 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.response.PostResultResponse;
+import com.lsm.idea_print.dto.response.SpreadQueueStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 작업 창 스케줄러.
+ * 크론 시각에 모든 계정을 한꺼번에 돌리는 대신, 실행을 post_job 에 등록한 뒤 계정마다
+ * 창 시작 + 결정적 지터(작업 이름과 계정 id 의 해시) 시각을 타이밍 휠에 예약한다.
+ * 같은 계정은 매번 창 안의 같은 위치에 게시되고, 계정들은 창 전체에 고르게 퍼진다.
+ * 창이 끝나면 재시도 대기 작업을 한 번 더 모아 처리한다.
+ * 예약 시각은 post_job.due_at 에도 남겨, 재시작하면 아직 오지 않은 예약으로 휠을 다시 채운다.
+ */
+@Slf4j
+@Component
+public class PostingWindowScheduler {
+
+    private static final String RECOVERY_JOB = "spread-recovery";
+    private static final String RECOVERY_LABEL = "recovered";
+
+    private final PostJobWorker postJobWorker;
+    private final RunCoordinator runCoordinator;
+    private final PostingProperties.Spread properties;
+    private final HashedTimingWheel wheel;
+
+    public PostingWindowScheduler(PostJobWorker postJobWorker, RunCoordinator runCoordinator,
+                                  PostingProperties postingProperties) {
+        this.postJobWorker = postJobWorker;
+        this.runCoordinator = runCoordinator;
+        this.properties = postingProperties.getSpread();
+        this.wheel = new HashedTimingWheel(properties.getTick(), properties.getWheelSize(),
+                error -> log.warn("타이밍 휠 작업 실행 실패 - {}", error.getMessage()));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            wheel.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 실행을 등록하고 계정별 게시를 창 안에 예약한다.
+     * 결과는 예약된 게시가 끝날 때마다 흘러나오고, 창 종료 정리까지 끝나면 완료된다.
+     * RunCoordinator 실행 안에서 구독하면 진행 현황, 마감, 취소, 드레인을 따른다.
+     */
+    public Flux<PostResultResponse> spread(String job, String runKey) {
+        Duration window = Optional.ofNullable(properties.getWindows().get(job))
+                .orElseThrow(() -> new IllegalArgumentException("창이 설정되지 않은 작업: " + job));
+        return Flux.deferContextual(context -> {
+            Instant windowStart = Instant.now();
+            return postJobWorker.enqueue(runKey)
+                    .flatMapMany(accountIds -> {
+                        Map<Long, Instant> dueAt = new LinkedHashMap<>();
+                        for (Long accountId : accountIds) {
+                            dueAt.put(accountId, windowStart.plusMillis(offsetMillis(job, accountId, window)));
+                        }
+                        context.<CoordinatedRun>getOrEmpty(CoordinatedRun.class)
+                                .ifPresent(run -> run.expect(accountIds.size()));
+                        log.info("작업 창 예약 job={} runKey={} accounts={} window={}", job, runKey, accountIds.size(), window);
+                        return postJobWorker.recordDue(runKey, toLocal(dueAt))
+                                .thenMany(Flux.defer(() -> schedule(job, runKey, dueAt,
+                                        windowStart.plus(window).plus(properties.getSweepGrace()), context)));
+                    });
+        });
+    }
+
+    /**
+     * 재시작 전에 예약했던 게시 중 아직 시각이 오지 않은 것을 다시 휠에 넣는다.
+     * 이미 시각이 지난 작업은 PostJobWorker 의 재개(drain)가 처리한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverScheduled() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        postJobWorker.findScheduled()
+                .subscribe(jobs -> {
+                    if (jobs.isEmpty()) {
+                        return;
+                    }
+                    Map<String, List<PostJobQueue.ScheduledJob>> byRun = jobs.stream()
+                            .collect(Collectors.groupingBy(PostJobQueue.ScheduledJob::runKey, LinkedHashMap::new,
+                                    Collectors.toList()));
+                    runCoordinator.submit(RECOVERY_JOB, run -> {
+                                run.expect(jobs.size());
+                                return Flux.deferContextual(context -> Flux.fromIterable(byRun.entrySet())
+                                        .flatMap(entry -> recover(entry.getKey(), entry.getValue(), context)));
+                            })
+                            .ifPresent(run -> log.info("작업 창 예약 복원 runs={} accounts={} runId={}",
+                                    byRun.size(), jobs.size(), run.getId()));
+                }, error -> log.warn("작업 창 예약 복원 실패 - {}", error.getMessage()));
+    }
+
+    private Flux<PostResultResponse> recover(String runKey, List<PostJobQueue.ScheduledJob> jobs, ContextView context) {
+        Map<Long, Instant> dueAt = new LinkedHashMap<>();
+        jobs.forEach(job -> dueAt.put(job.accountId(), job.dueAt().atZone(ZoneId.systemDefault()).toInstant()));
+        Instant lastDue = Collections.max(dueAt.values());
+        return schedule(RECOVERY_LABEL, runKey, dueAt, lastDue.plus(properties.getSweepGrace()), context);
+    }
+
+    private Flux<PostResultResponse> schedule(String label, String runKey, Map<Long, Instant> dueAt,
+                                              Instant sweepAt, ContextView context) {
+        WindowRun run = new WindowRun(runKey, context);
+        dueAt.forEach((accountId, due) -> wheel.schedule(label, due, () -> run.post(accountId)));
+        // 실패 후 PENDING 으로 돌아간 작업과 다른 노드가 놓친 작업 정리
+        wheel.schedule(label + ":sweep", sweepAt, run::sweep);
+        return run.results();
+    }
+
+    public SpreadQueueStatus status(Duration horizon, Duration slotWidth) {
+        return new SpreadQueueStatus(wheel.size(), wheel.sizeByLabel(),
+                wheel.upcoming(horizon, slotWidth).entrySet().stream()
+                        .map(slot -> new SpreadQueueStatus.Slot(slot.getKey(), slot.getValue()))
+                        .toList());
+    }
+
+    public int getPending() {
+        return wheel.size();
+    }
+
+    private static Map<Long, LocalDateTime> toLocal(Map<Long, Instant> dueAt) {
+        Map<Long, LocalDateTime> local = new LinkedHashMap<>();
+        dueAt.forEach((accountId, due) -> local.put(accountId, LocalDateTime.ofInstant(due, ZoneId.systemDefault())));
+        return local;
+    }
+
+    // 작업 이름 + 계정 id 를 섞은 64비트 해시로 창 안의 위치를 정한다 (노드와 실행에 상관없이 같은 값)
+    static long offsetMillis(String job, long accountId, Duration window) {
+        long z = accountId * 0x9E3779B97F4A7C15L + job.hashCode();
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return Math.floorMod(z, Math.max(1, window.toMillis()));
+    }
+
+    /**
+     * 창 하나의 실행. 타이밍 휠이 시작한 계정별 게시 결과를 모아 하나의 결과 스트림으로 내보낸다.
+     * 창 종료 정리가 끝나거나, 드레인 중 진행 중인 게시가 모두 끝나면 완료된다.
+     * 취소되면 진행 중인 게시를 취소하고, 이후 휠에서 꺼내지는 예약은 아무것도 하지 않는다.
+     */
+    private final class WindowRun {
+
+        private final String runKey;
+        private final ContextView context;
+        private final Sinks.Many<PostResultResponse> results = Sinks.many().unicast().onBackpressureBuffer();
+        private final Disposable.Composite inFlight = Disposables.composite();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile boolean swept;
+        private volatile boolean draining;
+        private volatile boolean closed;
+
+        private WindowRun(String runKey, ContextView context) {
+            this.runKey = runKey;
+            this.context = context;
+            context.<CoordinatedRun>getOrEmpty(CoordinatedRun.class)
+                    .ifPresent(run -> run.drainSignal().subscribe(unused -> {
+                    }, error -> {
+                    }, this::onDrain));
+        }
+
+        Flux<PostResultResponse> results() {
+            return results.asFlux().doOnCancel(this::cancel);
+        }
+
+        void post(Long accountId) {
+            // 드레인 중이면 새 계정을 시작하지 않는다 (남은 작업은 재시작 시 다시 예약된다)
+            if (!draining) {
+                start(postJobWorker.processAccount(runKey, accountId), false);
+            }
+        }
+
+        void sweep() {
+            start(postJobWorker.drain(runKey), true);
+        }
+
+        private void start(Flux<PostResultResponse> work, boolean sweep) {
+            if (closed) {
+                return;
+            }
+            running.incrementAndGet();
+            inFlight.add(work.contextWrite(context).subscribe(
+                    result -> results.emitNext(result, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100))),
+                    error -> {
+                        log.warn("예약 게시 실패 runKey={} - {}", runKey, error.getMessage());
+                        finished(sweep);
+                    },
+                    () -> finished(sweep)));
+        }
+
+        private void finished(boolean sweep) {
+            if (sweep) {
+                swept = true;
+            }
+            if (running.decrementAndGet() == 0 && (swept || draining)) {
+                complete();
+            }
+        }
+
+        private void onDrain() {
+            draining = true;
+            if (running.get() == 0) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            closed = true;
+            results.emitComplete(Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+        }
+
+        private void cancel() {
+            closed = true;
+            inFlight.dispose();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.OpenAiProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프롬프트별 문장 변형 풀.
+ * 풀이 비면 n 개 choice 를 한 번에 요청해 채우고, 계정마다 서로 다른 변형을 하나씩 꺼내준다.
+ * 같은 프롬프트에 대한 채우기 요청은 동시에 하나만 나간다.
+ * 켜져 있으면 일일 게시의 생성 경로이며 CompletionCache 는 거치지 않는다 (같은 문장을 나눠주면 변형의 의미가 없다).
+ */
+@Component
+@RequiredArgsConstructor
+public class PromptVariantPool {
+
+    private final Gpt4Service gpt4Service;
+    private final OpenAiProperties properties;
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.getMultiChoice().isEnabled();
+    }
+
+    public Mono<String> next(String prompt) {
+        return Mono.defer(() -> {
+            Pool pool = pools.computeIfAbsent(prompt, p -> new Pool());
+            CompletableFuture<List<String>> waitFor;
+            boolean startRefill = false;
+            synchronized (pool) {
+                pool.dropIfExpired(properties.getMultiChoice().getTtl().toMillis());
+                String variant = pool.variants.poll();
+                if (variant != null) {
+                    return Mono.just(variant);
+                }
+                if (pool.inFlight == null) {
+                    pool.inFlight = new CompletableFuture<>();
+                    startRefill = true;
+                }
+                waitFor = pool.inFlight;
+            }
+            if (startRefill) {
+                refill(prompt, pool, waitFor);
+            }
+            // 채워지면 다시 꺼내본다 (다른 계정이 먼저 가져가면 다음 요청을 기다림)
+            return Mono.fromFuture(waitFor, true).then(Mono.defer(() -> next(prompt)));
+        });
+    }
+
+    private void refill(String prompt, Pool pool, CompletableFuture<List<String>> future) {
+        gpt4Service.generatePosts(prompt, Math.max(1, properties.getMultiChoice().getChoicesPerRequest()))
+                .subscribe(
+                        variants -> {
+                            synchronized (pool) {
+                                pool.variants.addAll(variants);
+                                pool.filledAt = System.currentTimeMillis();
+                                pool.inFlight = null;
+                            }
+                            if (variants.isEmpty()) {
+                                future.completeExceptionally(new IllegalStateException("GPT 응답에 choice 가 없습니다."));
+                            } else {
+                                future.complete(variants);
+                            }
+                        },
+                        error -> {
+                            synchronized (pool) {
+                                pool.inFlight = null;
+                            }
+                            future.completeExceptionally(error);
+                        });
+    }
+
+    private static final class Pool {
+        private final Deque<String> variants = new ArrayDeque<>();
+        private CompletableFuture<List<String>> inFlight;
+        private long filledAt;
+
+        private void dropIfExpired(long ttlMillis) {
+            if (!variants.isEmpty() && System.currentTimeMillis() - filledAt > ttlMillis) {
+                variants.clear();
+            }
+        }
+    }
+}
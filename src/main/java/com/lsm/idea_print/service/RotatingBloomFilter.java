@@ -0,0 +1,77 @@
+package com.lsm.idea_print.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 두 세대로 나뉜 Bloom 필터.
+ * rotate() 때마다 이전 세대를 버리고 현재 세대를 이전 세대로 돌리므로,
+ * 추가된 키는 최소 한 주기, 최대 두 주기 동안 남고 메모리는 세대 두 개 크기로 고정된다.
+ * mightContain 이 false 면 두 주기 안에 추가된 적이 없는 키다.
+ */
+public class RotatingBloomFilter {
+
+    private final int bits;
+    private final int hashes;
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+
+    public RotatingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long optimalBits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64, optimalBits));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        this.current = new AtomicLongArray(words());
+        this.previous = new AtomicLongArray(words());
+    }
+
+    public void put(String key) {
+        long hash = SimHash.hash64(key);
+        AtomicLongArray generation = current;
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(hash, i);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long value;
+            do {
+                value = generation.get(word);
+            } while ((value & mask) == 0 && !generation.compareAndSet(word, value, value | mask));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = SimHash.hash64(key);
+        return contains(current, hash) || contains(previous, hash);
+    }
+
+    public void rotate() {
+        previous = current;
+        current = new AtomicLongArray(words());
+    }
+
+    public long getBitCount() {
+        return (long) bits * 2;
+    }
+
+    private boolean contains(AtomicLongArray generation, long hash) {
+        for (int i = 0; i < hashes; i++) {
+            int bit = index(hash, i);
+            if ((generation.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64비트 해시 하나의 상·하위 절반으로 k 개 위치를 만든다 (Kirsch-Mitzenmacher)
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % bits;
+    }
+
+    private int words() {
+        return (bits + 63) >>> 6;
+    }
+}
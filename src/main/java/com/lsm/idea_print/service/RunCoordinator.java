@@ -0,0 +1,243 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.response.PostResultResponse;
+import com.lsm.idea_print.dto.response.RunStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 스케줄 작업 실행 조정기.
+ * 작업 이름당 실행은 하나만 두고, 겹치는 실행은 정책에 따라 건너뛰거나 하나로 합쳐 뒤에 세운다.
+ * 실행 전체에 마감을 걸고, 진행 현황 조회와 취소를 제공한다.
+ * 종료 시에는 새 계정 게시를 멈추고 진행 중인 게시가 끝나기를 posting.runs.shutdown-drain 만큼 기다린다.
+ * 끝내지 못한 post_job 작업은 임대가 만료된 뒤 재시작 시 이어서 처리된다.
+ */
+@Slf4j
+@Component
+public class RunCoordinator implements SmartLifecycle {
+
+    private final PostingProperties.Runs properties;
+    private final PostingMetrics metrics;
+    private final Scheduler blockingScheduler;
+
+    // 작업 이름 -> 실행 중인 실행
+    private final Map<String, CoordinatedRun> active = new ConcurrentHashMap<>();
+    // 작업 이름 -> 실행 중인 실행이 끝나면 시작할 파이프라인 (QUEUE 정책)
+    private final Map<String, Function<CoordinatedRun, Flux<PostResultResponse>>> queued = new ConcurrentHashMap<>();
+    private final Deque<CoordinatedRun> history = new ConcurrentLinkedDeque<>();
+
+    // 등록/종료 판단을 한 번에 하기 위한 락 (가상 스레드 고정 방지로 synchronized 대신 사용)
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean running;
+
+    public RunCoordinator(PostingProperties postingProperties, PostingMetrics metrics, Scheduler blockingScheduler) {
+        this.properties = postingProperties.getRuns();
+        this.metrics = metrics;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    /**
+     * 게시 파이프라인 실행을 등록한다. 파이프라인은 실행 객체로 게시 대상 수를 알릴 수 있다.
+     *
+     * @return 시작된 실행. 건너뛰었거나 대기열에 넣었거나 종료 중이면 비어 있다
+     */
+    public Optional<CoordinatedRun> submit(String job, Function<CoordinatedRun, Flux<PostResultResponse>> pipeline) {
+        return submit(job, pipeline, false);
+    }
+
+    /**
+     * 결과를 {@link CoordinatedRun#results()} 로 따라 보는 실행을 등록한다 (HTTP 스트리밍 등).
+     * 실행은 구독자와 무관하게 끝까지 돌고 마감/취소/드레인만 따른다.
+     * 따라 볼 호출자가 기다리고 있으므로 겹치면 정책과 상관없이 대기열에 넣지 않고 건너뛴다.
+     */
+    public Optional<CoordinatedRun> submitWatched(String job, Function<CoordinatedRun, Flux<PostResultResponse>> pipeline) {
+        return submit(job, pipeline, true);
+    }
+
+    private Optional<CoordinatedRun> submit(String job, Function<CoordinatedRun, Flux<PostResultResponse>> pipeline,
+                                            boolean watched) {
+        lock.lock();
+        try {
+            if (!running) {
+                log.warn("종료 중이라 실행을 받지 않습니다 job={}", job);
+                return Optional.empty();
+            }
+            CoordinatedRun current = active.get(job);
+            if (current == null) {
+                return Optional.of(start(job, pipeline, watched));
+            }
+            if (!watched && properties.overlapOf(job) == PostingProperties.OverlapPolicy.QUEUE) {
+                // 이미 대기 중인 실행이 있으면 최신 것 하나로 합친다
+                queued.put(job, pipeline);
+                log.info("이전 실행이 진행 중이라 대기열에 넣습니다 job={} runId={}", job, current.getId());
+            } else {
+                log.warn("이전 실행이 진행 중이라 건너뜁니다 job={} runId={}", job, current.getId());
+            }
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 동기 파이프라인(MCP 등) 실행을 등록한다. 계정 단위 진행률 없이 상태와 경과 시간만 추적하며,
+     * 취소나 마감 초과 시 실행 스레드에 인터럽트로 중단을 요청한다.
+     */
+    public Optional<CoordinatedRun> submitBlocking(String job, Runnable pipeline) {
+        return submit(job, run -> Mono.fromRunnable(pipeline)
+                .subscribeOn(blockingScheduler)
+                .thenMany(Flux.empty()));
+    }
+
+    public List<RunStatus> activeRuns() {
+        return active.values().stream().map(CoordinatedRun::status).toList();
+    }
+
+    // 실행 중인 실행 다음에 최근에 끝난 실행 순
+    public List<RunStatus> recentRuns() {
+        List<RunStatus> runs = new ArrayList<>(activeRuns());
+        history.forEach(run -> runs.add(run.status()));
+        return runs;
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public Optional<RunStatus> find(String runId) {
+        return findRun(runId).map(CoordinatedRun::status);
+    }
+
+    /**
+     * 실행을 취소한다. 진행 중인 게시 요청도 함께 취소된다.
+     *
+     * @return 실행 중이던 실행을 찾아 취소했으면 true
+     */
+    public boolean cancel(String runId) {
+        Optional<CoordinatedRun> run = active.values().stream()
+                .filter(candidate -> candidate.getId().equals(runId))
+                .findFirst();
+        run.ifPresent(candidate -> {
+            log.info("실행 취소 요청 job={} runId={}", candidate.getJob(), runId);
+            candidate.cancel(RunStatus.State.CANCELLED);
+        });
+        return run.isPresent();
+    }
+
+    private Optional<CoordinatedRun> findRun(String runId) {
+        return active.values().stream()
+                .filter(run -> run.getId().equals(runId))
+                .findFirst()
+                .or(() -> history.stream().filter(run -> run.getId().equals(runId)).findFirst());
+    }
+
+    private CoordinatedRun start(String job, Function<CoordinatedRun, Flux<PostResultResponse>> pipeline,
+                                 boolean watched) {
+        Duration deadline = properties.deadlineOf(job);
+        CoordinatedRun run = new CoordinatedRun(job, deadline, watched);
+        active.put(job, run);
+        log.info("실행 시작 job={} runId={} deadline={}", job, run.getId(), deadline);
+        Flux<PostResultResponse> results = Flux.defer(() -> pipeline.apply(run))
+                .doOnNext(run::record)
+                .contextWrite(Context.of(CoordinatedRun.class, run));
+        // 결과 수나 간격과 상관없이 시작부터 마감까지 한 번만 재는 전체 타임아웃
+        run.attach(metrics.timedRun(job, results.then().timeout(deadline))
+                .doFinally(signal -> finish(run, signal))
+                .subscribe(unused -> {
+                }, error -> {
+                    if (error instanceof TimeoutException) {
+                        run.finish(RunStatus.State.TIMED_OUT);
+                        log.warn("실행 마감 초과로 취소 job={} runId={} deadline={}", job, run.getId(), deadline);
+                    } else {
+                        run.finish(RunStatus.State.FAILED);
+                        log.error("실행 실패 job={} runId={}", job, run.getId(), error);
+                    }
+                }));
+        return run;
+    }
+
+    private void finish(CoordinatedRun run, SignalType signal) {
+        run.finish(signal == SignalType.ON_COMPLETE ? RunStatus.State.COMPLETED
+                : signal == SignalType.CANCEL ? RunStatus.State.CANCELLED
+                : RunStatus.State.FAILED);
+        RunStatus status = run.status();
+        log.info("실행 종료 job={} runId={} state={} done={} failed={} elapsedMs={}", status.job(), status.id(),
+                status.state(), status.done(), status.failed(), status.elapsedMillis());
+        lock.lock();
+        try {
+            active.remove(run.getJob(), run);
+            history.addFirst(run);
+            while (history.size() > Math.max(0, properties.getHistory())) {
+                history.pollLast();
+            }
+            Function<CoordinatedRun, Flux<PostResultResponse>> next = queued.remove(run.getJob());
+            if (next != null && running) {
+                start(run.getJob(), next, false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // 웹 서버 graceful shutdown 보다 먼저(높은 phase) 멈춰, 드레인하는 동안 진행 현황 조회가 가능하다
+    @Override
+    public void stop() {
+        List<CoordinatedRun> draining;
+        lock.lock();
+        try {
+            running = false;
+            queued.clear();
+            draining = new ArrayList<>(active.values());
+        } finally {
+            lock.unlock();
+        }
+        if (draining.isEmpty()) {
+            return;
+        }
+        log.info("종료 드레인 시작 runs={} timeout={}", draining.size(), properties.getShutdownDrain());
+        draining.forEach(CoordinatedRun::drain);
+        long deadline = System.nanoTime() + properties.getShutdownDrain().toNanos();
+        while (!active.isEmpty() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        active.values().forEach(run -> {
+            log.warn("드레인 시간 초과로 취소 job={} runId={} inFlight={}", run.getJob(), run.getId(),
+                    run.status().inFlight());
+            run.cancel(RunStatus.State.CANCELLED);
+        });
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -1,53 +1,54 @@
 package com.lsm.idea_print.service;
 
-import com.lsm.idea_print.dto.response.PostResultResponse;
-import com.lsm.idea_print.entity.MetaToken;
-import com.lsm.idea_print.repository.MetaTokenRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduleService {
-    private final ThreadsPostService threadsPostService;
-    private final MetaTokenRepository metaTokenRepository;
+    private final ThreadsApiClient threadsApiClient;
+    private final PostJobWorker postJobWorker;
     private final McpService mcpService;
     private final MultiTopicMcpService multiTopicMcpService;
+    private final RunCoordinator runCoordinator;
+    private final PostingWindowScheduler windowScheduler;
 
 
     @Scheduled(cron = "0 0 9 * * *") // 매일 오전 9시 실행 - MCP Pipeline (Single Source)
     public void executeMcpPipeline() {
-        mcpService.executeFullPipeline();
+        runCoordinator.submitBlocking("mcp-single-source", () -> mcpService.executeFullPipeline());
     }
     
     @Scheduled(cron = "0 0 12 * * *") // 매일 정오 12시 실행 - MCP Pipeline (All Sources)
     public void executeMcpPipelineAllSources() {
-        mcpService.executeFullPipelineForAllSources();
+        runCoordinator.submitBlocking("mcp-all-sources", () -> mcpService.executeFullPipelineForAllSources());
     }
     
     @Scheduled(cron = "0 30 10 * * *") // 매일 오전 10시 30분 - Multi-Topic Pipeline
     public void executeMultiTopicPipeline() {
-        multiTopicMcpService.executeFullPipelineForAllTopics();
+        runCoordinator.submitBlocking("multi-topic", () -> multiTopicMcpService.executeFullPipelineForAllTopics());
     }
     
     @Scheduled(cron = "0 0 14 * * *") // 매일 오후 2시 - Cross-Topic Pipeline
     public void executeCrossTopicPipeline() {
-        multiTopicMcpService.executeCrossTopicPipeline();
+        runCoordinator.submitBlocking("cross-topic", () -> multiTopicMcpService.executeCrossTopicPipeline());
     }
     
     @Scheduled(cron = "0 0 16 * * *") // 매일 오후 4시 - Universal Pipeline
     public void executeUniversalPipeline() {
-        multiTopicMcpService.executeUniversalPipeline();
+        runCoordinator.submitBlocking("universal", () -> multiTopicMcpService.executeUniversalPipeline());
     }
     
     // AI-specific pipeline
     @Scheduled(cron = "0 0 11 * * *") // 매일 오전 11시 - AI Topic Pipeline
     public void executeAiTopicPipeline() {
-        multiTopicMcpService.executeTopicPipeline("ai");
+        runCoordinator.submitBlocking("topic-ai", () -> multiTopicMcpService.executeTopicPipeline("ai"));
     }
     
     // Future life-hacks pipeline (currently commented out as no life-hacks sources exist yet)
@@ -59,11 +60,21 @@ public class ScheduleService {
     @Scheduled(cron = "0 0 */3 * * *") // 매일 3시간마다 실행 (0시, 3시, 6시) - Legacy posting
 
     public void postDailyGptContent() {
-        threadsPostService.postDailyContentForAllAccounts()
-                .doOnNext(response -> {
-                    long successCount = response.getData().stream().filter(PostResultResponse::isSuccess).count();
-                    System.out.println("\u2705 스케줄 완료 - 성공: " + successCount + " / 전체: " + response.getData().size());
-                })
-                .subscribe();
+        // 같은 시각의 실행은 모든 노드가 같은 run_key 를 쓰므로 계정마다 한 번만 게시된다
+        String runKey = "daily:" + LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        if (windowScheduler.isEnabled()) {
+            // 모든 계정을 한꺼번에 돌리지 않고 창(posting.spread.windows.daily-gpt) 안에 흩뿌린다.
+            // 실행은 창 종료 정리까지 이어지므로 진행 현황, 마감, 드레인을 일반 실행과 똑같이 따른다
+            runCoordinator.submit("daily-post", run -> threadsApiClient.prewarm()
+                            .thenMany(windowScheduler.spread("daily-gpt", runKey)))
+                    .ifPresent(run -> log.info("작업 창 실행 runKey={} runId={}", runKey, run.getId()));
+            return;
+        }
+        // 이전 실행이 아직 돌고 있으면 posting.runs 정책에 따라 건너뛰거나 뒤에 세운다
+        runCoordinator.submit("daily-post", run -> threadsApiClient.prewarm()
+                        .then(postJobWorker.enqueue(runKey))
+                        .doOnNext(accountIds -> run.expect(accountIds.size()))
+                        .thenMany(Flux.defer(() -> postJobWorker.drain(runKey))))
+                .ifPresent(run -> log.info("스케줄 실행 runKey={} runId={}", runKey, run.getId()));
     }
 }
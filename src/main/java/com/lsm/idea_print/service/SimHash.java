@@ -0,0 +1,90 @@
+package com.lsm.idea_print.service;
+
+import java.util.Locale;
+
+/**
+ * 64비트 SimHash.
+ * 정규화한 문장의 글자 3-gram 을 특징으로 쓰므로 한국어처럼 띄어쓰기가 흔들리는 문장에도 안정적이다.
+ * 거의 같은 문장은 해밍 거리가 작은 서명을 갖는다.
+ */
+public final class SimHash {
+
+    private static final int SHINGLE = 3;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    public static long of(String text) {
+        int[] codePoints = normalize(text).codePoints().toArray();
+        if (codePoints.length == 0) {
+            return 0L;
+        }
+        int[] weights = new int[64];
+        int shingles = Math.max(1, codePoints.length - SHINGLE + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = FNV_OFFSET;
+            for (int i = start; i < Math.min(codePoints.length, start + SHINGLE); i++) {
+                hash = (hash ^ codePoints[i]) * FNV_PRIME;
+            }
+            hash = mix(hash);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+            }
+        }
+        long signature = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * 서명을 bands 개 구간으로 나눈 index 번째 값.
+     * 해밍 거리가 bands - 1 이하인 두 서명은 적어도 한 구간이 같다 (비둘기집 원리).
+     * 그보다 먼 서명도 다른 비트가 몇 구간에 몰리면 같은 구간이 남는다.
+     */
+    public static long band(long signature, int index, int bands) {
+        int width = 64 / bands;
+        int shift = index * width;
+        long mask = index == bands - 1 ? -1L >>> shift : (1L << width) - 1;
+        return (signature >>> shift) & mask;
+    }
+
+    // 64비트 해시 섞기 (MurmurHash3 fmix64)
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    static long hash64(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    // 대소문자, 공백, 문장부호, 이모지 차이는 같은 문장으로 본다
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        text.toLowerCase(Locale.ROOT).codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+}
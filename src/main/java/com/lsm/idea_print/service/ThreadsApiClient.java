@@ -0,0 +1,172 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.ThreadsApiProperties;
+import com.lsm.idea_print.dto.response.ThreadsContainerResponse;
+import com.lsm.idea_print.dto.response.ThreadsContainerStatusResponse;
+import com.lsm.idea_print.dto.response.ThreadsPublishResponse;
+import com.lsm.idea_print.dto.response.ThreadsTokenResponse;
+import com.lsm.idea_print.dto.response.ThreadsUserInfoResponse;
+import com.lsm.idea_print.exception.ThreadsApiException;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Threads Graph API 전용 싱글톤 클라이언트.
+ * 전용 커넥션 풀을 사용하므로 계정이 많아도 TLS 핸드셰이크와 WebClient 생성 비용이 호출마다 발생하지 않는다.
+ */
+@Component
+public class ThreadsApiClient {
+
+    private final ThreadsApiProperties properties;
+    private final ConnectionProvider connectionProvider;
+    private final HttpClient httpClient;
+    private final WebClient webClient;
+
+    public ThreadsApiClient(ThreadsApiProperties properties) {
+        this.properties = properties;
+        this.connectionProvider = ConnectionProvider.builder("threads-api")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictInterval())
+                .build();
+        this.httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(properties.getResponseTimeout());
+        this.webClient = WebClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    public Mono<ThreadsContainerResponse> createTextContainer(String userId, String accessToken, String text) {
+        return createContainer(userId, accessToken, Map.of("media_type", "TEXT", "text", text));
+    }
+
+    public Mono<ThreadsContainerResponse> createImageContainer(String userId, String accessToken, String text,
+                                                               String imageUrl) {
+        return createContainer(userId, accessToken, Map.of("media_type", "IMAGE", "image_url", imageUrl, "text", text));
+    }
+
+    // 캐러셀 항목은 문장 없이 만들고, 문장은 캐러셀 컨테이너에 붙인다
+    public Mono<ThreadsContainerResponse> createCarouselItem(String userId, String accessToken, String imageUrl) {
+        return createContainer(userId, accessToken,
+                Map.of("media_type", "IMAGE", "image_url", imageUrl, "is_carousel_item", true));
+    }
+
+    public Mono<ThreadsContainerResponse> createCarouselContainer(String userId, String accessToken, String text,
+                                                                  List<String> childIds) {
+        return createContainer(userId, accessToken,
+                Map.of("media_type", "CAROUSEL", "children", String.join(",", childIds), "text", text));
+    }
+
+    private Mono<ThreadsContainerResponse> createContainer(String userId, String accessToken, Map<String, Object> body) {
+        return webClient.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/{userId}/threads")
+                        .queryParam("access_token", accessToken)
+                        .build(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(status -> status.isError(), response -> toError("컨테이너 생성 오류", response))
+                .bodyToMono(ThreadsContainerResponse.class);
+    }
+
+    // 이미지 컨테이너는 Threads 가 이미지를 가져가 처리한 뒤(FINISHED)에야 게시할 수 있다
+    public Mono<ThreadsContainerStatusResponse> getContainerStatus(String containerId, String accessToken) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/{containerId}")
+                        .queryParam("fields", "id,status,error_message")
+                        .queryParam("access_token", accessToken)
+                        .build(containerId))
+                .retrieve()
+                .onStatus(status -> status.isError(), response -> toError("컨테이너 상태 오류", response))
+                .bodyToMono(ThreadsContainerStatusResponse.class);
+    }
+
+    public Mono<ThreadsPublishResponse> publish(String userId, String accessToken, String creationId) {
+        return webClient.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/{userId}/threads_publish")
+                        .queryParam("access_token", accessToken)
+                        .build(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("creation_id", creationId))
+                .retrieve()
+                .onStatus(status -> status.isError(), response -> toError("게시 오류", response))
+                .bodyToMono(ThreadsPublishResponse.class);
+    }
+
+    public Mono<ThreadsUserInfoResponse> getUserInfo(String accessToken) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/me")
+                        .queryParam("fields", "id,username,name,threads_profile_picture_url")
+                        .queryParam("access_token", accessToken)
+                        .build())
+                .retrieve()
+                .onStatus(status -> status.isError(), response -> toError("사용자 정보 오류", response))
+                .bodyToMono(ThreadsUserInfoResponse.class);
+    }
+
+    // 장기 토큰 갱신 (th_refresh_token)
+    public Mono<ThreadsTokenResponse> refreshLongLivedToken(String accessToken) {
+        return webClient.get()
+                .uri(UriComponentsBuilder.fromUriString(properties.getToken().getRefreshUrl())
+                        .queryParam("grant_type", "th_refresh_token")
+                        .queryParam("access_token", accessToken)
+                        .build()
+                        .toUri())
+                .retrieve()
+                .onStatus(status -> status.isError(), response -> toError("토큰 갱신 오류", response))
+                .bodyToMono(ThreadsTokenResponse.class);
+    }
+
+    /**
+     * 스케줄 실행 직전에 이벤트 루프/DNS/TLS 를 초기화하고 커넥션을 미리 열어 풀에 넣어둔다.
+     * 응답 상태와 무관하게 커넥션만 확보하면 되므로 오류는 무시한다.
+     */
+    public Mono<Void> prewarm() {
+        int connections = Math.min(properties.getPrewarmConnections(), properties.getMaxConnections());
+        return httpClient.warmup()
+                .thenMany(Flux.range(0, Math.max(0, connections))
+                        .flatMap(i -> webClient.head()
+                                .uri("/")
+                                .retrieve()
+                                .toBodilessEntity()
+                                .onErrorResume(error -> Mono.empty())))
+                .then();
+    }
+
+    private Mono<? extends Throwable> toError(String message, ClientResponse response) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(errorBody -> new ThreadsApiException(message, response.statusCode(), errorBody,
+                        response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER)));
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.disposeLater().block();
+    }
+}
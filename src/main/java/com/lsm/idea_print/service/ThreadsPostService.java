@@ -1,202 +1,374 @@
 package com.lsm.idea_print.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.lsm.idea_print.dto.response.PostResultResponse;
-import com.lsm.idea_print.entity.MetaToken;
-import com.lsm.idea_print.repository.MetaTokenRepository;
+import com.lsm.idea_print.dto.response.PostRunSummary;
+import com.lsm.idea_print.dto.response.ThreadsPublishResponse;
+import com.lsm.idea_print.dto.response.ThreadsUserInfoResponse;
+import com.lsm.idea_print.dto.AccountSnapshot;
 import com.lsm.idea_print.dto.ApiResponse;
+import com.lsm.idea_print.dto.PreparedPost;
+import com.lsm.idea_print.exception.DuplicateContentException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.MediaType;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ThreadsPostService {
 
     private final Gpt4Service gpt4Service;
-    private final WebClient.Builder webClientBuilder;
-    private final MetaTokenRepository metaTokenRepository;
+    private final ThreadsApiClient threadsApiClient;
+    private final AccountRegistry accountRegistry;
     private final TopicBasedContentGenerationService contentGenerationService;
-
-    private final String THREADS_API_BASE_URL = "https://graph.threads.net/v1.0";
+    private final PostingFanOutEngine fanOutEngine;
+    private final UpstreamGuards upstreamGuards;
+    private final PostCountAggregator postCountAggregator;
+    private final PromptVariantPool variantPool;
+    private final TwoPhasePublisher twoPhasePublisher;
+    private final OpenAiBatchClient openAiBatchClient;
+    private final TokenLifecycleService tokenLifecycleService;
+    private final PostingMetrics metrics;
+    private final Scheduler blockingScheduler;
+    private final ContentFingerprintIndex fingerprintIndex;
+    private final PostHistoryAppender postHistory;
+    private final PostMediaService postMedia;
 
     public Mono<ApiResponse<List<PostResultResponse>>> postDailyContentForAllAccounts() {
-        List<MetaToken> accounts = metaTokenRepository.findAll();
-
-        return Flux.fromIterable(accounts)
-                .flatMap(account -> {
-                    String prompt = Optional.ofNullable(account.getPrompt())
-                            .filter(p -> !p.isBlank())
-                            .orElse("오늘 하루를 웃음으로 시작하게 할 재미있는 문장을 하나 생성해줘.");
-
-                    return gpt4Service.generatePost(prompt)
-                            .flatMap(text -> {
-                                text += " 팔로우하고 글을 매일 받아봐! 반하리는 무조건!! ";
-                                // 카운트 증가 및 DB 저장
-                                account.incrementPostCount();
-                                metaTokenRepository.save(account);
-                                return doPost(text, account.getUserId(), account.getAccessToken())
-                                        .then(Mono.just(new PostResultResponse(account.getUserId(), true, "게시 성공!!")));
-                            })
-                            .onErrorResume(error -> {
-                                String errorMessage = "게시 실패 ㅠㅠ" + error.getMessage();
-                                System.out.println("❌ " + account.getUserId() + ": " + errorMessage);
-                                return Mono.just(new PostResultResponse(account.getUserId(), false, errorMessage));
-                            });
-
-                })
+        return streamDailyContentForAllAccounts()
                 .collectList()
                 .map(results -> ApiResponse.success("모든 계정에 게시 완료", results));
     }
 
+    // 계정별 결과를 완료되는 즉시 흘려보낸다 (전체 결과를 모으지 않음)
+    public Flux<PostResultResponse> streamDailyContentForAllAccounts() {
+        return streamDailyContentForAllAccounts(null);
+    }
 
+    /**
+     * @param publishAt null 이 아니면 생성/컨테이너 준비는 바로 하고 게시(threads_publish)만 이 시각에 한다.
+     *                  팬아웃 자리는 컨테이너 준비까지만 잡고, 게시 시각을 기다리는 동안은 별도 단계로 넘긴다
+     */
+    public Flux<PostResultResponse> streamDailyContentForAllAccounts(Instant publishAt) {
+        if (publishAt == null) {
+            return fanOutEngine.fanOut(loadAccounts(), AccountSnapshot::userId,
+                    this::postDailyContent, this::quotaExceeded);
+        }
+        return fanOutEngine.fanOut(loadAccounts(), AccountSnapshot::userId,
+                        account -> prepareDailyContent(account, publishAt),
+                        account -> Mono.just(quotaExceeded(account)))
+                // 대기 중에는 타이머만 쓰고, 실제 게시는 TwoPhasePublisher 의 게시 단계 한도를 따른다
+                .flatMap(scheduled -> scheduled, Math.max(1, twoPhasePublisher.getScheduledPublishConcurrency()));
+    }
 
-    public  Mono<JsonNode> doPost(String text, String userId, String accessToken) {
-        WebClient client = webClientBuilder.baseUrl(THREADS_API_BASE_URL).build();
+    public Mono<PostResultResponse> postDailyContent(AccountSnapshot account) {
+        // 토큰 확인이 GPT 생성보다 먼저다 (게시할 수 없는 계정에 생성 비용을 쓰지 않음)
+        return attempt(account, () -> tokenLifecycleService.preflight(account)
+                .flatMap(checked -> generateDistinctContent(checked)
+                        .flatMap(text -> publishGenerated(checked, text))));
+    }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("media_type", "TEXT");
-        body.put("text", text);
+    /**
+     * 예약 게시의 1단계. 컨테이너까지 준비되면 끝나고, 게시 시각까지 기다렸다 게시하는 2단계를 돌려준다.
+     * 게시 이력은 두 단계를 합쳐 한 행이다.
+     */
+    private Mono<Mono<PostResultResponse>> prepareDailyContent(AccountSnapshot account, Instant publishAt) {
+        return Mono.deferContextual(context -> {
+            PostAttempt attempt = new PostAttempt(account, context);
+            return tokenLifecycleService.preflight(account)
+                    .flatMap(checked -> generateDistinctContent(checked)
+                            .flatMap(text -> prepareGenerated(checked, text)
+                                    .map(post -> tracked(attempt, account, Mono.delay(delayUntil(publishAt))
+                                            .then(publishPrepared(checked, text, post))))))
+                    .contextWrite(Context.of(PostAttempt.class, attempt))
+                    .onErrorResume(error -> Mono.just(tracked(attempt, account, Mono.error(error))))
+                    // 준비 중에 실행이 취소되면 2단계가 없으므로 여기서 이력을 남긴다
+                    .doOnCancel(() -> postHistory.append(attempt.finish()));
+        });
+    }
 
-        return client.post()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/" + userId + "/threads")
-                        .queryParam("access_token", accessToken)
-                        .build())
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .doOnNext(response -> {
-                    System.out.println("✅ 스레드 생성 성공: " + response.path("id").asText());
-                })
-                .flatMap(container -> {
-                    String creationId = container.path("id").asText(); //id는 25454234... 이거
-
-                    return client.post()
-                            .uri(uriBuilder -> uriBuilder
-                                    .path("/" + userId + "/threads_publish")
-                                    .queryParam("access_token", accessToken)
-                                    .build())
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue(Map.of("creation_id", creationId))
-                            .retrieve()
-                            .onStatus(
-                                    status -> status.is4xxClientError() || status.is5xxServerError(),
-                                    response -> response.bodyToMono(String.class)
-                                            .flatMap(errorBody -> {
-                                                System.err.println("게시 오류 응답: " + errorBody);
-                                                return Mono.error(new RuntimeException("게시 오류: " + response.statusCode() + " - " + errorBody));
-                                            })
-                            )
-                            .bodyToMono(JsonNode.class)
-                            .doOnNext(publishResponse -> {
-                                System.out.println("✅ 스레드 게시 성공: " + publishResponse.path("id").asText());
-                            });
-                })
-                .doOnError(error -> {
-                    System.err.println("❌ 사용자 " + userId + "의 doPost에서 오류 발생: " + error.getMessage());
-                });
-    }
-
-    public Mono<JsonNode> getUserInfo(String accessToken) {
-        WebClient client = webClientBuilder.baseUrl(THREADS_API_BASE_URL).build();
-
-        return client.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/me")
-                        .queryParam("fields", "id,username,name,threads_profile_picture_url")
-                        .queryParam("access_token", accessToken)
-                        .build())
-                .retrieve()
-                .onStatus(
-                        status -> status.is4xxClientError() || status.is5xxServerError(),
-                        response -> response.bodyToMono(String.class)
-                                .flatMap(errorBody -> {
-                                    System.err.println("사용자 정보 가져오기 오류: " + errorBody);
-                                    return Mono.error(new RuntimeException("사용자 정보 오류: " + response.statusCode() + " - " + errorBody));
-                                })
-                )
-                .bodyToMono(JsonNode.class)
-                .doOnNext(response -> {
-                    System.out.println("✅ 사용자 정보: " + response.toPrettyString());
-                });
+    private static Duration delayUntil(Instant publishAt) {
+        Duration wait = Duration.between(Instant.now(), publishAt);
+        return wait.isNegative() ? Duration.ZERO : wait;
     }
 
+    /**
+     * 오프라인 모드: 모든 계정의 프롬프트를 OpenAI 배치 파일로 제출하고 배치 id 를 돌려준다.
+     * custom_id 는 계정 id 이다.
+     */
+    public Mono<String> submitOfflineDailyRun() {
+        return loadAccounts()
+                // 설정 파일(threads.accounts) 계정은 id 가 없어 배치 결과와 연결할 수 없으므로 제외
+                .filter(account -> account.id() != null)
+                .collectMap(account -> String.valueOf(account.id()), this::resolvePrompt, LinkedHashMap::new)
+                .flatMap(openAiBatchClient::submit);
+    }
 
-    public boolean postToAllAccounts(String content) {
-        try {
-            List<MetaToken> accounts = metaTokenRepository.findAll();
-            if (accounts.isEmpty()) {
-                System.out.println("❌ 게시할 계정이 없습니다.");
-                return false;
-            }
+    // 오프라인 배치 결과가 준비되면 계정별로 게시한다. 배치 문장도 최근 게시물과 거의 같으면 다시 생성한다
+    public Flux<PostResultResponse> publishOfflineDailyRun(String batchId) {
+        return openAiBatchClient.awaitResults(batchId)
+                .flatMapMany(generated -> fanOutEngine.fanOut(
+                        loadAccounts().filter(account -> account.id() != null), AccountSnapshot::userId,
+                        account -> Optional.ofNullable(generated.get(String.valueOf(account.id())))
+                                .map(text -> attempt(account, () -> distinct(account, resolvePrompt(account), Mono.just(text), 0)
+                                        .flatMap(distinctText -> publishGenerated(account, distinctText))))
+                                .orElseGet(() -> {
+                                    log.warn("배치 결과 없음 userId={}", account.userId());
+                                    metrics.failure("batch_missing");
+                                    return Mono.just(new PostResultResponse(account.userId(), false, "배치 결과 없음"));
+                                }),
+                        this::quotaExceeded));
+    }
 
-            List<Boolean> results = Flux.fromIterable(accounts)
-                    .flatMap(account -> 
-                        doPost(content, account.getUserId(), account.getAccessToken())
-                                .map(response -> true)
-                                .onErrorReturn(false)
-                    )
-                    .collectList()
-                    .block();
-
-            boolean allSuccess = results != null && results.stream().allMatch(success -> success);
-            System.out.println(allSuccess ? 
-                "✅ 모든 계정에 MCP 콘텐츠 게시 성공" : 
-                "❌ 일부 계정에서 MCP 콘텐츠 게시 실패");
-
-            return allSuccess;
-        } catch (Exception e) {
-            System.err.println("❌ MCP 콘텐츠 게시 중 오류: " + e.getMessage());
-            return false;
+    private String resolvePrompt(AccountSnapshot account) {
+        return Optional.ofNullable(account.prompt())
+                .filter(p -> !p.isBlank())
+                .orElse("오늘 하루를 웃음으로 시작하게 할 재미있는 문장을 하나 생성해줘.");
+    }
+
+    // 같은 프롬프트를 공유하는 계정들은 한 번의 요청에서 나온 서로 다른 변형을 나눠 갖는다.
+    // multi-choice 를 끄면 CompletionCache(켜져 있을 때)가 같은 프롬프트의 요청을 하나로 합친다
+    private Mono<String> generateContent(String prompt) {
+        return variantPool.isEnabled() ? variantPool.next(prompt) : gpt4Service.generatePost(prompt);
+    }
+
+    // 계정/토픽의 최근 게시물과 거의 같으면 캐시 없이 다시 생성하고, 횟수를 다 쓰면 게시하지 않는다
+    private Mono<String> generateDistinctContent(AccountSnapshot account) {
+        String prompt = resolvePrompt(account);
+        return distinct(account, prompt, generateContent(prompt), 0);
+    }
+
+    private Mono<String> distinct(AccountSnapshot account, String prompt, Mono<String> generated, int regenerations) {
+        return generated.flatMap(text -> fingerprintIndex.isNearDuplicate(account, text)
+                .flatMap(duplicate -> {
+                    if (!duplicate) {
+                        return Mono.just(text);
+                    }
+                    if (regenerations >= fingerprintIndex.getMaxRegenerations()) {
+                        return Mono.error(new DuplicateContentException(account.userId(), regenerations + 1));
+                    }
+                    metrics.dedup("regenerated");
+                    return distinct(account, prompt, gpt4Service.generatePost(prompt, false), regenerations + 1);
+                }));
+    }
+
+    /**
+     * 작업 큐(post_job) 용 게시.
+     * 이전 시도에서 만든 컨테이너가 있으면 재생성 없이 게시만 다시 하고,
+     * 새로 만든 컨테이너는 게시 전에 onPrepared 로 알려 작업 행에 기록되게 한다.
+     * 새로 생성할 때는 postDailyContent 처럼 토큰 확인이 GPT 생성보다 먼저다.
+     */
+    public Mono<PostResultResponse> postDailyContentForJob(AccountSnapshot account, String preparedCreationId,
+                                                           Function<String, Mono<Void>> onPrepared) {
+        boolean resumed = preparedCreationId != null;
+        // 이어서 게시할 때는 생성 비용이 없으므로 확인하지 않고, 인증 오류는 withAuthRetry 가 처리한다
+        Mono<AccountSnapshot> checked = resumed ? Mono.just(account) : tokenLifecycleService.preflight(account);
+        return attempt(account, () -> checked
+                .flatMap(current -> prepareForJob(current, preparedCreationId, onPrepared)
+                        .flatMap(post -> withAuthRetry(current, token -> {
+                            PreparedPost withToken = new PreparedPost(post.userId(), token, post.creationId(), post.preparedAt());
+                            return resumed ? twoPhasePublisher.resume(withToken) : twoPhasePublisher.publish(withToken);
+                        })))
+                .doOnNext(published -> postCountAggregator.increment(account.id()))
+                .map(published -> success(account)));
+    }
+
+    private Mono<PreparedPost> prepareForJob(AccountSnapshot account, String preparedCreationId,
+                                             Function<String, Mono<Void>> onPrepared) {
+        if (preparedCreationId != null) {
+            return Mono.just(new PreparedPost(account.userId(), account.accessToken(), preparedCreationId, Instant.now()));
         }
+        return generateDistinctContent(account)
+                .flatMap(text -> postMedia.imageUrls(resolvePrompt(account))
+                        .flatMap(imageUrls -> withAuthRetry(account, token ->
+                                twoPhasePublisher.prepare(account.userId(), token, withFollowUp(text), imageUrls)))
+                        // 컨테이너를 만든 문장은 게시 재시도에서도 그대로 쓰이므로 이 시점에 기록한다
+                        .flatMap(post -> fingerprintIndex.record(account, text).thenReturn(post)))
+                .flatMap(post -> onPrepared.apply(post.creationId()).thenReturn(post));
+    }
+
+    private String withFollowUp(String text) {
+        return text + " 팔로우하고 글을 매일 받아봐! 반하리는 무조건!! ";
+    }
+
+    private Mono<PostResultResponse> publishGenerated(AccountSnapshot account, String text) {
+        return prepareGenerated(account, text)
+                .flatMap(post -> publishPrepared(account, text, post));
+    }
+
+    private Mono<PreparedPost> prepareGenerated(AccountSnapshot account, String text) {
+        String content = withFollowUp(text);
+        // 이미지는 프롬프트 단위로 저장소에서 재사용되므로 계정마다 새로 생성하지 않는다
+        return postMedia.imageUrls(resolvePrompt(account))
+                .flatMap(imageUrls -> withAuthRetry(account, token ->
+                        twoPhasePublisher.prepare(account.userId(), token, content, imageUrls)))
+                .doOnNext(post -> log.debug("스레드 생성 성공 userId={} creationId={}", post.userId(), post.creationId()));
+    }
+
+    // 인증 오류로 토큰을 갱신해도 이미 만든 컨테이너로 게시만 다시 한다
+    private Mono<PostResultResponse> publishPrepared(AccountSnapshot account, String text, PreparedPost post) {
+        return withAuthRetry(account, token -> twoPhasePublisher.publish(
+                        new PreparedPost(post.userId(), token, post.creationId(), post.preparedAt())))
+                .doOnNext(published -> log.info("스레드 게시 성공 userId={} postId={}", post.userId(), published.id()))
+                // 카운트는 write-behind 로 모아서 반영
+                .doOnNext(published -> postCountAggregator.increment(account.id()))
+                // 팔로우 문구는 모든 글에 같으므로 생성된 문장만 색인한다
+                .flatMap(published -> fingerprintIndex.record(account, text).thenReturn(published))
+                .then(Mono.fromSupplier(() -> success(account)));
+    }
+
+    /**
+     * 계정 하나의 게시 시도. 성공/실패/취소 모두 게시 이력에 한 행으로 남기고, 오류는 실패 결과로 바꾼다.
+     * 단계 시간과 컨테이너/미디어 id 는 Context 의 PostAttempt 로 하위 단계에서 채워진다.
+     */
+    private Mono<PostResultResponse> attempt(AccountSnapshot account, Supplier<Mono<PostResultResponse>> body) {
+        return Mono.deferContextual(context -> tracked(new PostAttempt(account, context), account, Mono.defer(body)));
+    }
+
+    private Mono<PostResultResponse> tracked(PostAttempt attempt, AccountSnapshot account, Mono<PostResultResponse> body) {
+        return body
+                .doOnNext(result -> attempt.succeed())
+                .onErrorResume(error -> {
+                    attempt.fail(error);
+                    return Mono.just(failure(account, error));
+                })
+                .doFinally(signal -> postHistory.append(attempt.finish()))
+                .contextWrite(Context.of(PostAttempt.class, attempt));
+    }
+
+    // 인증 오류면 토큰을 한 번 갱신하고 같은 호출만 다시 한다 (문장 재생성 없음)
+    private <T> Mono<T> withAuthRetry(AccountSnapshot account, Function<String, Mono<T>> call) {
+        return call.apply(account.accessToken())
+                .onErrorResume(TokenLifecycleService::isAuthFailure, error ->
+                        tokenLifecycleService.refreshAfterAuthFailure(account).flatMap(call));
+    }
+
+    private PostResultResponse success(AccountSnapshot account) {
+        metrics.success();
+        return new PostResultResponse(account.userId(), true, "게시 성공!!");
+    }
+
+    private PostResultResponse failure(AccountSnapshot account, Throwable error) {
+        String errorMessage = "게시 실패 ㅠㅠ" + error.getMessage();
+        metrics.failure(error);
+        log.warn("게시 실패 userId={} cause={} - {}", account.userId(), PostingMetrics.causeOf(error), error.getMessage());
+        return new PostResultResponse(account.userId(), false, errorMessage);
     }
-    
+
+    private PostResultResponse quotaExceeded(AccountSnapshot account) {
+        metrics.failure("quota");
+        return new PostResultResponse(account.userId(), false, "계정별 게시 한도 초과");
+    }
+
+    public Mono<ThreadsPublishResponse> doPost(String text, String userId, String accessToken) {
+        return doPost(text, userId, accessToken, null);
+    }
+
+    public Mono<ThreadsPublishResponse> doPost(String text, String userId, String accessToken, Instant publishAt) {
+        return doPost(text, List.of(), userId, accessToken, publishAt);
+    }
+
+    // 컨테이너 생성과 게시는 TwoPhasePublisher 의 단계별 큐를 거친다. imageUrls 가 있으면 이미지/캐러셀 게시
+    public Mono<ThreadsPublishResponse> doPost(String text, List<String> imageUrls, String userId, String accessToken,
+                                               Instant publishAt) {
+        return twoPhasePublisher.prepare(userId, accessToken, text, imageUrls)
+                .doOnNext(container -> log.debug("스레드 생성 성공 userId={} creationId={}", userId, container.creationId()))
+                .flatMap(prepared -> publishAt == null
+                        ? twoPhasePublisher.publish(prepared)
+                        : twoPhasePublisher.publishAt(prepared, publishAt))
+                .doOnNext(publishResponse -> log.info("스레드 게시 성공 userId={} postId={}", userId, publishResponse.id()))
+                .doOnError(error -> log.debug("doPost 실패 userId={} - {}", userId, error.getMessage()));
+    }
+
+    public Mono<ThreadsUserInfoResponse> getUserInfo(String accessToken) {
+        return upstreamGuards.threads(() -> threadsApiClient.getUserInfo(accessToken))
+                .doOnNext(response -> log.info("사용자 정보 조회 - {}", response));
+    }
+
+
+    public Flux<PostResultResponse> streamToAllAccounts(String content) {
+        return fanOutEngine.fanOut(loadAccounts(), AccountSnapshot::userId,
+                account -> attempt(account, () -> withAuthRetry(account, token -> doPost(content, account.userId(), token))
+                        .map(response -> success(account))),
+                this::quotaExceeded);
+    }
+
+    public Flux<PostResultResponse> streamArticleToAllAccounts(com.lsm.idea_print.dto.NewsArticle article) {
+        return fanOutEngine.fanOut(loadAccounts(), AccountSnapshot::userId,
+                account -> attempt(account, () -> Mono.fromCallable(() -> contentGenerationService
+                                // Generate account-specific content
+                                .generateThreadsPostForAccount(article, account.userId()))
+                        // 동기 생성 호출이 이벤트 루프를 막지 않도록
+                        .subscribeOn(blockingScheduler)
+                        .flatMap(accountSpecificContent ->
+                                withAuthRetry(account, token -> doPost(accountSpecificContent, account.userId(), token)))
+                        .map(response -> {
+                            // Increment post count for successful posts
+                            postCountAggregator.increment(account.id());
+                            return success(account);
+                        })),
+                this::quotaExceeded);
+    }
+
+    public Mono<PostRunSummary> summarize(Flux<PostResultResponse> results) {
+        return Mono.defer(() -> {
+            PostRunTracker tracker = new PostRunTracker();
+            return results.doOnNext(tracker::record)
+                    .then(Mono.fromSupplier(tracker::summary));
+        });
+    }
+
+    // MCP 파이프라인 등 동기 호출부용. 요청 스레드에서는 stream* 메서드를 사용할 것
+    public boolean postToAllAccounts(String content) {
+        return reportLegacyRun(streamToAllAccounts(content),
+                "모든 계정에 MCP 콘텐츠 게시 성공",
+                "일부 계정에서 MCP 콘텐츠 게시 실패",
+                "MCP 콘텐츠 게시 중 오류: ");
+    }
+
     public boolean postArticleToAllAccounts(com.lsm.idea_print.dto.NewsArticle article) {
+        return reportLegacyRun(streamArticleToAllAccounts(article),
+                "모든 계정에 개인화된 MCP 콘텐츠 게시 성공",
+                "일부 계정에서 개인화된 MCP 콘텐츠 게시 실패",
+                "개인화된 MCP 콘텐츠 게시 중 오류: ");
+    }
+
+    private boolean reportLegacyRun(Flux<PostResultResponse> results, String successMessage,
+                                    String failureMessage, String errorPrefix) {
         try {
-            List<MetaToken> accounts = metaTokenRepository.findAll();
-            if (accounts.isEmpty()) {
-                System.out.println("❌ 게시할 계정이 없습니다.");
+            PostRunSummary summary = summarize(results).block();
+            if (summary == null || summary.getTotal() == 0) {
+                log.warn("게시할 계정이 없습니다.");
                 return false;
             }
-
-            List<Boolean> results = Flux.fromIterable(accounts)
-                    .flatMap(account -> {
-                        // Generate account-specific content
-                        String accountSpecificContent = contentGenerationService
-                                .generateThreadsPostForAccount(article, account.getUserId());
-                        
-                        return doPost(accountSpecificContent, account.getUserId(), account.getAccessToken())
-                                .map(response -> {
-                                    // Increment post count for successful posts
-                                    account.incrementPostCount();
-                                    metaTokenRepository.save(account);
-                                    return true;
-                                })
-                                .onErrorReturn(false);
-                    })
-                    .collectList()
-                    .block();
-
-            boolean allSuccess = results != null && results.stream().allMatch(success -> success);
-            System.out.println(allSuccess ? 
-                "✅ 모든 계정에 개인화된 MCP 콘텐츠 게시 성공" : 
-                "❌ 일부 계정에서 개인화된 MCP 콘텐츠 게시 실패");
-
-            return allSuccess;
+            if (summary.isAllSuccess()) {
+                log.info("{} total={} elapsedMs={}", successMessage, summary.getTotal(), summary.getElapsedMillis());
+            } else {
+                log.warn("{} success={} failure={} elapsedMs={}", failureMessage,
+                        summary.getSuccessCount(), summary.getFailureCount(), summary.getElapsedMillis());
+            }
+            return summary.isAllSuccess();
         } catch (Exception e) {
-            System.err.println("❌ 개인화된 MCP 콘텐츠 게시 중 오류: " + e.getMessage());
+            log.error("{}{}", errorPrefix, e.getMessage(), e);
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // 토큰이 죽었거나 만료된 계정은 여기서 빠진다
+    private Flux<AccountSnapshot> loadAccounts() {
+        return accountRegistry.accounts().filter(AccountSnapshot::isPostable);
+    }
+}
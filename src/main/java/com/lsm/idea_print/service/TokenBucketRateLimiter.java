@@ -0,0 +1,46 @@
+package com.lsm.idea_print.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 논블로킹 토큰 버킷.
+ * 토큰이 없으면 스레드를 막지 않고 다음 토큰이 채워질 시점까지 Mono.delay 로 대기한다.
+ * 토큰을 미리 예약(음수 허용)하므로 대기 순서대로 공정하게 처리된다.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond 는 0보다 커야 합니다.");
+        }
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = permitsPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            return waitNanos <= 0
+                    ? Mono.empty()
+                    : Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+
+    // 토큰 하나를 예약하고, 사용 가능해질 때까지 기다려야 하는 시간(ns)을 반환
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+}
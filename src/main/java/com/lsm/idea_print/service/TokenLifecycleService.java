@@ -0,0 +1,129 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.ThreadsApiProperties;
+import com.lsm.idea_print.dto.AccountSnapshot;
+import com.lsm.idea_print.entity.MetaToken;
+import com.lsm.idea_print.entity.TokenStatus;
+import com.lsm.idea_print.exception.ThreadsApiException;
+import com.lsm.idea_print.repository.MetaTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Threads 장기 토큰 수명 관리.
+ * 만료 전에 스케줄로 갱신하고, 갱신이 불가능한 계정은 INVALID 로 표시해 팬아웃에서 GPT 생성 전에 제외되게 한다.
+ * 만료 시각을 모르는 새 토큰은 min-token-age 가 지나면 한 번 갱신해 만료 시각을 얻는다.
+ * 실행 도중 인증 오류가 나면 계정당 한 번만 갱신을 시도하고, 동시에 들어온 요청은 그 결과를 함께 기다린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenLifecycleService {
+
+    // Graph API OAuthException (토큰 만료/무효)
+    private static final String OAUTH_EXCEPTION_CODE = "\"code\":190";
+
+    private final MetaTokenRepository metaTokenRepository;
+    private final ThreadsApiClient threadsApiClient;
+    private final UpstreamGuards upstreamGuards;
+    private final AccountRegistry accountRegistry;
+    private final ThreadsApiProperties properties;
+    private final PostingMetrics metrics;
+    private final Scheduler blockingScheduler;
+
+    // userId -> 진행 중인 갱신
+    private final Map<String, Mono<String>> inFlightRefreshes = new ConcurrentHashMap<>();
+
+    @Scheduled(cron = "${threads.api.token.refresh-cron:0 30 3 * * *}")
+    public void refreshExpiringTokens() {
+        metrics.timedRun("token-refresh", this::refreshExpiring);
+    }
+
+    private void refreshExpiring() {
+        LocalDateTime now = LocalDateTime.now();
+        ThreadsApiProperties.Token token = properties.getToken();
+        List<MetaToken> tokens = metaTokenRepository.findTokensToRefresh(TokenStatus.ACTIVE,
+                now.plus(token.getRefreshBefore()), now.minus(token.getMinTokenAge()));
+        if (tokens.isEmpty()) {
+            return;
+        }
+        Long refreshed = Flux.fromIterable(tokens)
+                .flatMap(candidate -> refresh(candidate.getId(), candidate.getUserId(), candidate.getAccessToken())
+                        .onErrorResume(error -> Mono.empty()), 4)
+                .count()
+                .block();
+        log.info("토큰 갱신 완료 refreshed={} candidates={}", refreshed, tokens.size());
+    }
+
+    /**
+     * 문장 생성 전 토큰 확인. 설정이 꺼져 있으면 저장된 만료 정보만으로 판단(레지스트리 필터)하고 그대로 통과시킨다.
+     */
+    public Mono<AccountSnapshot> preflight(AccountSnapshot account) {
+        if (!properties.getToken().isPreflightValidate()) {
+            return Mono.just(account);
+        }
+        return upstreamGuards.threads(() -> threadsApiClient.getUserInfo(account.accessToken()))
+                .thenReturn(account)
+                .onErrorResume(TokenLifecycleService::isAuthFailure, error -> refreshAfterAuthFailure(account)
+                        .map(newToken -> account.withAccessToken(newToken, null)));
+    }
+
+    /**
+     * 인증 오류 후 갱신. 같은 계정에 대한 동시 호출은 하나의 갱신 요청을 공유한다.
+     */
+    public Mono<String> refreshAfterAuthFailure(AccountSnapshot account) {
+        return refresh(account.id(), account.userId(), account.accessToken());
+    }
+
+    public static boolean isAuthFailure(Throwable error) {
+        if (error instanceof ThreadsApiException apiException) {
+            int status = apiException.getStatusCode().value();
+            String body = apiException.getResponseBody();
+            return status == 401 || (status == 400 && body != null && body.replace(" ", "").contains(OAUTH_EXCEPTION_CODE));
+        }
+        return false;
+    }
+
+    private Mono<String> refresh(Long accountId, String userId, String accessToken) {
+        return inFlightRefreshes.computeIfAbsent(userId, key -> upstreamGuards.threads(() ->
+                                threadsApiClient.refreshLongLivedToken(accessToken))
+                        .flatMap(response -> {
+                            LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(response.expiresIn());
+                            return persist(accountId, () -> metaTokenRepository.updateToken(accountId, response.accessToken(), expiresAt))
+                                    .thenReturn(response.accessToken());
+                        })
+                        .onErrorResume(ThreadsApiException.class, error -> {
+                            // 토큰 자체가 무효(401, code 190)일 때만 계정을 제외한다.
+                            // 429 나 발급 24시간 미만 토큰의 400 같은 다른 4xx 는 다음 주기에 다시 시도한다
+                            if (isAuthFailure(error)) {
+                                log.warn("토큰 갱신 불가, 계정 제외 userId={} - {}", userId, error.getMessage());
+                                return persist(accountId, () -> metaTokenRepository.updateTokenStatus(accountId, TokenStatus.INVALID))
+                                        .then(Mono.error(error));
+                            }
+                            return Mono.error(error);
+                        })
+                        .doFinally(signal -> inFlightRefreshes.remove(key))
+                        .cache());
+    }
+
+    // 설정 파일 계정(id 없음)은 DB 에 반영하지 않는다
+    private Mono<Void> persist(Long accountId, Runnable update) {
+        if (accountId == null) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(update)
+                .subscribeOn(blockingScheduler)
+                .doOnSuccess(ignored -> accountRegistry.invalidate())
+                .then();
+    }
+}
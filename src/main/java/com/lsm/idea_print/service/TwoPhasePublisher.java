@@ -0,0 +1,175 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.PreparedPost;
+import com.lsm.idea_print.dto.response.ThreadsContainerResponse;
+import com.lsm.idea_print.dto.response.ThreadsContainerStatusResponse;
+import com.lsm.idea_print.dto.response.ThreadsPublishResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 2단계 게시 파이프라인.
+ * 1단계(컨테이너 생성)와 2단계(threads_publish)는 각자의 대기 큐와 동시 실행 한도를 가진다.
+ * 게시 실패는 이미 만든 creation_id 로만 재시도하므로 문장 재생성이나 컨테이너 재생성이 없다.
+ */
+@Slf4j
+@Component
+public class TwoPhasePublisher {
+
+    private final ThreadsApiClient threadsApiClient;
+    private final UpstreamGuards upstreamGuards;
+    private final PostingMetrics metrics;
+    private final PostingProperties.TwoPhase properties;
+    private final ConcurrencyGate createStage;
+    private final ConcurrencyGate publishStage;
+    private final PostingProperties.Media media;
+
+    public TwoPhasePublisher(ThreadsApiClient threadsApiClient, UpstreamGuards upstreamGuards,
+                             PostingMetrics metrics, PostingProperties postingProperties) {
+        this.threadsApiClient = threadsApiClient;
+        this.upstreamGuards = upstreamGuards;
+        this.metrics = metrics;
+        this.properties = postingProperties.getTwoPhase();
+        this.media = postingProperties.getMedia();
+        this.createStage = new ConcurrencyGate(properties.getCreateConcurrency());
+        this.publishStage = new ConcurrencyGate(properties.getPublishConcurrency());
+    }
+
+    // 1단계: 미디어 컨테이너 생성
+    public Mono<PreparedPost> prepare(String userId, String accessToken, String text) {
+        return prepare(userId, accessToken, text, List.of());
+    }
+
+    /**
+     * 이미지가 없으면 TEXT, 한 장이면 IMAGE, 여러 장이면 캐러셀 항목들을 만든 뒤 CAROUSEL 컨테이너를 만든다.
+     * 이미지 컨테이너는 Threads 가 처리를 끝낼 때까지 기다렸다가 돌려주므로 2단계는 바로 게시할 수 있다.
+     */
+    public Mono<PreparedPost> prepare(String userId, String accessToken, String text, List<String> imageUrls) {
+        Mono<ThreadsContainerResponse> container = switch (imageUrls.size()) {
+            case 0 -> create(() -> threadsApiClient.createTextContainer(userId, accessToken, text));
+            case 1 -> create(() -> threadsApiClient.createImageContainer(userId, accessToken, text, imageUrls.get(0)))
+                    .flatMap(created -> awaitReady(created, accessToken));
+            default -> Flux.fromIterable(imageUrls)
+                    .flatMapSequential(url -> create(() -> threadsApiClient.createCarouselItem(userId, accessToken, url))
+                            .flatMap(item -> awaitReady(item, accessToken)))
+                    .map(ThreadsContainerResponse::id)
+                    .collectList()
+                    .flatMap(children -> create(() ->
+                            threadsApiClient.createCarouselContainer(userId, accessToken, text, children)))
+                    .flatMap(created -> awaitReady(created, accessToken));
+        };
+        return container
+                .map(created -> new PreparedPost(userId, accessToken, created.id(), Instant.now()))
+                .transformDeferredContextual((prepared, context) ->
+                        prepared.doOnNext(post -> PostAttempt.prepared(context, post.creationId())));
+    }
+
+    private Mono<ThreadsContainerResponse> create(Supplier<Mono<ThreadsContainerResponse>> call) {
+        // 처리 여부를 모르는 실패 뒤에 다시 만들면 게시되지 않는 컨테이너만 남으므로 재시도하지 않고 실패로 돌려준다
+        return createStage.run(() -> metrics.timed(PostingMetrics.THREADS_CREATE, upstreamGuards.threadsWrite(call)));
+    }
+
+    // 단계 한도 밖에서 기다린다 (처리 대기 중인 컨테이너가 다른 계정의 생성 자리를 잡지 않게)
+    private Mono<ThreadsContainerResponse> awaitReady(ThreadsContainerResponse container, String accessToken) {
+        Duration interval = media.getContainerPollInterval();
+        long maxPolls = Math.max(1, media.getContainerReadyTimeout().toMillis() / Math.max(1, interval.toMillis()));
+        return upstreamGuards.threads(() -> threadsApiClient.getContainerStatus(container.id(), accessToken))
+                .flatMap(status -> {
+                    if (status.isFinished()) {
+                        return Mono.just(container);
+                    }
+                    if (status.isFailed()) {
+                        return Mono.error(new IllegalStateException("미디어 컨테이너 처리 실패 id=" + container.id()
+                                + " status=" + status.status() + " - " + status.errorMessage()));
+                    }
+                    return Mono.<ThreadsContainerResponse>empty();
+                })
+                .repeatWhenEmpty(polls -> polls.take(maxPolls).delayElements(interval))
+                .switchIfEmpty(Mono.error(() -> new TimeoutException(
+                        "미디어 컨테이너 처리 대기 시간 초과 id=" + container.id())));
+    }
+
+    /**
+     * 2단계: 준비된 컨테이너 게시.
+     * 같은 creation_id 를 두 번 게시하면 글이 두 개 생길 수 있으므로, 타임아웃처럼 처리 여부를 모르는 실패 뒤에는
+     * 컨테이너 상태를 확인해 이미 게시됐으면 성공으로, 아직 FINISHED 이면 한 번만 다시 보낸다.
+     */
+    public Mono<ThreadsPublishResponse> publish(PreparedPost post) {
+        return recorded(post, publishStage.run(() -> metrics.timed(PostingMetrics.THREADS_PUBLISH, sendPublish(post)
+                .onErrorResume(UpstreamGuard::isAmbiguous, error -> reconcile(post, error)))));
+    }
+
+    // 이전 시도에서 만든 컨테이너로 게시만 다시 하는 경우에도 이력에 남도록
+    private static Mono<ThreadsPublishResponse> recorded(PreparedPost post, Mono<ThreadsPublishResponse> publish) {
+        return publish.transformDeferredContextual((published, context) -> published.doOnNext(response -> {
+            PostAttempt.prepared(context, post.creationId());
+            PostAttempt.published(context, response.id());
+        }));
+    }
+
+    /**
+     * 이전 시도에서 만든 컨테이너로 이어서 게시한다 (작업 큐 재개).
+     * 이전 시도가 게시까지 마치고 기록 전에 끊겼을 수 있으므로 상태를 먼저 본다.
+     */
+    public Mono<ThreadsPublishResponse> resume(PreparedPost post) {
+        return containerStatus(post)
+                .flatMap(status -> status.isPublished() ? recorded(post, alreadyPublished(post)) : publish(post));
+    }
+
+    private Mono<ThreadsPublishResponse> sendPublish(PreparedPost post) {
+        return upstreamGuards.threadsWrite(() ->
+                threadsApiClient.publish(post.userId(), post.accessToken(), post.creationId()));
+    }
+
+    // 상태도 확인하지 못하면 다시 보내지 않고 원래 오류로 실패한다
+    private Mono<ThreadsPublishResponse> reconcile(PreparedPost post, Throwable error) {
+        return containerStatus(post)
+                .onErrorResume(statusError -> Mono.error(error))
+                .flatMap(status -> {
+                    if (status.isPublished()) {
+                        return alreadyPublished(post);
+                    }
+                    return status.isFinished() ? sendPublish(post) : Mono.error(error);
+                });
+    }
+
+    private Mono<ThreadsContainerStatusResponse> containerStatus(PreparedPost post) {
+        return upstreamGuards.threads(() -> threadsApiClient.getContainerStatus(post.creationId(), post.accessToken()));
+    }
+
+    // 상태 조회로는 게시된 글의 id 를 알 수 없어 비워 둔다
+    private Mono<ThreadsPublishResponse> alreadyPublished(PreparedPost post) {
+        log.info("이미 게시된 컨테이너라 다시 게시하지 않습니다 userId={} creationId={}", post.userId(), post.creationId());
+        return Mono.just(new ThreadsPublishResponse(null));
+    }
+
+    // 지정 시각까지 기다렸다가 게시. 이미 지났으면 바로 게시한다.
+    // 기다리는 동안 호출자의 동시 실행 자리를 잡으므로 많은 계정의 예약 게시는 준비와 게시를 나눠 호출한다
+    public Mono<ThreadsPublishResponse> publishAt(PreparedPost post, Instant publishAt) {
+        Duration wait = Duration.between(Instant.now(), publishAt);
+        return wait.isNegative() || wait.isZero()
+                ? publish(post)
+                : Mono.delay(wait).then(publish(post));
+    }
+
+    public int getScheduledPublishConcurrency() {
+        return properties.getScheduledPublishConcurrency();
+    }
+
+    public int getCreateQueueDepth() {
+        return createStage.getPending();
+    }
+
+    public int getPublishQueueDepth() {
+        return publishStage.getPending();
+    }
+}
@@ -0,0 +1,190 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.ResilienceProperties;
+import com.lsm.idea_print.exception.ThreadsApiException;
+import com.lsm.idea_print.exception.UpstreamUnavailableException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 업스트림 하나에 대한 호출 보호막.
+ * 서킷 브레이커 확인 -> 토큰 버킷 -> AIMD 동시 실행 한도 -> 타임아웃 순으로 감싸고,
+ * 실패하면 full jitter 지수 백오프로 재시도한다. 429/503 의 Retry-After 가 있으면 그 값을 우선한다.
+ * 멱등이 아닌 호출은 요청이 나가지 않았음이 확실할 때만 재시도한다.
+ */
+public class UpstreamGuard {
+
+    private final String name;
+    private final ResilienceProperties.Upstream properties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    public UpstreamGuard(String name, ResilienceProperties.Upstream properties, TokenBucketRateLimiter rateLimiter) {
+        this.name = name;
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = new CircuitBreaker(
+                properties.getFailureThreshold(), properties.getOpenDuration(), properties.getHalfOpenProbes());
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(
+                properties.getInitialConcurrency(), properties.getMinConcurrency(),
+                properties.getMaxConcurrency(), properties.getDecreaseFactor());
+    }
+
+    public <T> Mono<T> call(Supplier<Mono<T>> call) {
+        return call(call, true);
+    }
+
+    /**
+     * @param idempotent false 면 다시 보내면 결과가 중복될 수 있는 호출(게시, 컨테이너 생성)이다.
+     *                   요청이 처리되지 않았음이 확실한 실패(429, 연결 실패)만 재시도하고,
+     *                   업스트림이 이미 처리했을 수 있는 실패({@link #isAmbiguous})는 그대로 돌려준다
+     */
+    public <T> Mono<T> call(Supplier<Mono<T>> call, boolean idempotent) {
+        return Mono.defer(() -> attempt(call))
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    if (signal.totalRetries() >= properties.getMaxRetries() || !isRetryable(failure, idempotent)) {
+                        return Mono.error(failure);
+                    }
+                    return Mono.delay(backoff(signal.totalRetries(), failure));
+                })));
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit.getLimit();
+    }
+
+    public int getInFlight() {
+        return concurrencyLimit.getInFlight();
+    }
+
+    private <T> Mono<T> attempt(Supplier<Mono<T>> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return Mono.error(new UpstreamUnavailableException(name));
+        }
+        return rateLimiter.acquire()
+                .then(concurrencyLimit.run(() -> Mono.defer(call).timeout(properties.getTimeout())))
+                .doOnSuccess(result -> {
+                    circuitBreaker.onSuccess();
+                    concurrencyLimit.onSuccess();
+                })
+                .doOnError(this::recordFailure)
+                .doOnCancel(circuitBreaker::onIgnored);
+    }
+
+    private void recordFailure(Throwable error) {
+        int status = statusOf(error);
+        if (status == 429) {
+            // 속도 제한은 장애가 아니라 과부하 신호
+            circuitBreaker.onIgnored();
+            concurrencyLimit.onOverload();
+        } else if (status >= 400 && status < 500) {
+            // 요청 자체의 문제. 업스트림은 정상 응답했다
+            circuitBreaker.onSuccess();
+        } else {
+            // 5xx, 타임아웃, 연결 오류
+            circuitBreaker.onFailure();
+            concurrencyLimit.onOverload();
+        }
+    }
+
+    // 4xx(429 제외)는 같은 요청을 다시 보내도 성공하지 않는다. 서킷이 열렸을 때도 기다리지 않고 바로 실패
+    static boolean isRetryable(Throwable error, boolean idempotent) {
+        if (error instanceof UpstreamUnavailableException) {
+            return false;
+        }
+        int status = statusOf(error);
+        if (status == 429 || isNotSent(error)) {
+            return true;
+        }
+        return idempotent && (status < 400 || status >= 500);
+    }
+
+    /**
+     * 업스트림이 요청을 처리했는지 알 수 없는 실패 (타임아웃, 5xx, 응답 전 연결 끊김).
+     * 멱등이 아닌 호출은 결과를 확인하기 전에 다시 보내면 안 된다.
+     */
+    public static boolean isAmbiguous(Throwable error) {
+        if (error instanceof UpstreamUnavailableException || isNotSent(error)) {
+            return false;
+        }
+        int status = statusOf(error);
+        return status < 400 || status >= 500;
+    }
+
+    // 연결을 맺지 못해 요청이 나가지 않은 실패
+    private static boolean isNotSent(Throwable error) {
+        return error instanceof WebClientRequestException
+                && NestedExceptionUtils.getMostSpecificCause(error) instanceof ConnectException;
+    }
+
+    private Duration backoff(long retries, Throwable error) {
+        Duration retryAfter = retryAfterOf(error);
+        long cap = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(retries, 20));
+        long jitter = ThreadLocalRandom.current().nextLong(Math.max(1, cap) + 1);
+        if (retryAfter != null) {
+            // 여러 호출이 같은 순간에 몰리지 않도록 Retry-After 뒤에 작은 jitter 를 더한다
+            return retryAfter.plusMillis(jitter / 4);
+        }
+        return Duration.ofMillis(jitter);
+    }
+
+    private static int statusOf(Throwable error) {
+        if (error instanceof ThreadsApiException apiException && apiException.getStatusCode() != null) {
+            return apiException.getStatusCode().value();
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().value();
+        }
+        if (error instanceof TimeoutException) {
+            return 504;
+        }
+        return 0;
+    }
+
+    private static Duration retryAfterOf(Throwable error) {
+        String header = null;
+        if (error instanceof ThreadsApiException apiException) {
+            header = apiException.getRetryAfter();
+        } else if (error instanceof WebClientResponseException responseException) {
+            header = responseException.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        }
+        return parseRetryAfter(header);
+    }
+
+    // Retry-After: 초 단위 숫자 또는 HTTP-date
+    static Duration parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(header.trim())));
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            Duration wait = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return wait.isNegative() ? Duration.ZERO : wait;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.config.ResilienceProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * 업스트림(OpenAI, graph.threads.net)별 호출 보호막.
+ * 속도 제한, 타임아웃, 재시도, 서킷 브레이커, AIMD 동시 실행 한도를 한 곳에서 적용한다.
+ */
+@Component
+public class UpstreamGuards {
+
+    private final UpstreamGuard openAi;
+    private final UpstreamGuard threads;
+
+    public UpstreamGuards(PostingProperties posting, ResilienceProperties resilience) {
+        this.openAi = new UpstreamGuard("openai", resilience.getOpenai(), new TokenBucketRateLimiter(
+                posting.getOpenai().getPermitsPerSecond(), posting.getOpenai().getBurst()));
+        this.threads = new UpstreamGuard("threads", resilience.getThreads(), new TokenBucketRateLimiter(
+                posting.getThreads().getPermitsPerSecond(), posting.getThreads().getBurst()));
+    }
+
+    public <T> Mono<T> openAi(Supplier<Mono<T>> call) {
+        return openAi.call(call);
+    }
+
+    public <T> Mono<T> threads(Supplier<Mono<T>> call) {
+        return threads.call(call);
+    }
+
+    // 게시, 컨테이너 생성처럼 다시 보내면 중복될 수 있는 Threads 호출
+    public <T> Mono<T> threadsWrite(Supplier<Mono<T>> call) {
+        return threads.call(call, false);
+    }
+
+    public UpstreamGuard getOpenAiGuard() {
+        return openAi;
+    }
+
+    public UpstreamGuard getThreadsGuard() {
+        return threads;
+    }
+}
@@ -0,0 +1,25 @@
+-- 기준 스키마: 기준 커밋의 엔티티로 ddl-auto: update 가 만들던 형태 그대로 (meta_token id 는 IDENTITY)
+-- 이미 ddl-auto 로 만들어진 DB 는 spring.flyway.baseline-on-migrate 로 이 버전을 건너뛰므로
+-- 이후에 생긴 테이블과 열은 여기에 두지 않고 IF NOT EXISTS 마이그레이션으로 추가한다
+-- enum 열은 값 추가 때마다 마이그레이션이 필요 없도록 CHECK 제약을 두지 않는다
+
+CREATE TABLE content_topic (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255) NOT NULL UNIQUE,
+    description text,
+    is_active   boolean      NOT NULL DEFAULT true,
+    created_at  timestamp(6),
+    updated_at  timestamp(6)
+);
+
+CREATE TABLE meta_token (
+    id                  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id             varchar(255),
+    access_token        varchar(255),
+    content_topic_id    bigint REFERENCES content_topic (id),
+    account_name        varchar(255),
+    account_description varchar(255),
+    post_count          integer NOT NULL DEFAULT 0,
+    created_at          timestamp(6),
+    updated_at          timestamp(6)
+);
@@ -0,0 +1,5 @@
+-- 기준 이후 meta_token 에 추가된 열 (계정 프롬프트, 토큰 수명 관리)
+-- ddl-auto 로 만들어진 DB 에는 이미 있을 수 있어 IF NOT EXISTS 로 추가한다
+ALTER TABLE meta_token ADD COLUMN IF NOT EXISTS prompt text;
+ALTER TABLE meta_token ADD COLUMN IF NOT EXISTS token_expires_at timestamp(6);
+ALTER TABLE meta_token ADD COLUMN IF NOT EXISTS token_status varchar(255) NOT NULL DEFAULT 'ACTIVE';
@@ -0,0 +1,18 @@
+-- 게시 작업 큐. ddl-auto 로 만들어진 DB 에는 이미 있을 수 있어 IF NOT EXISTS 로 만든다
+CREATE TABLE IF NOT EXISTS post_job (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    run_key         varchar(255) NOT NULL,
+    account_id      bigint       NOT NULL,
+    idempotency_key varchar(255) NOT NULL,
+    status          varchar(255) NOT NULL,
+    attempts        integer      NOT NULL,
+    lease_owner     varchar(255),
+    lease_until     timestamp(6),
+    creation_id     varchar(255),
+    last_error      text,
+    created_at      timestamp(6),
+    updated_at      timestamp(6),
+    CONSTRAINT uk_post_job_idempotency_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_job_run_status ON post_job (run_key, status);
@@ -0,0 +1,8 @@
+-- meta_token id 를 IDENTITY 에서 시퀀스 할당(allocationSize 50)으로 전환해 INSERT 를 JDBC 배치로 묶는다
+CREATE SEQUENCE IF NOT EXISTS meta_token_seq START WITH 1 INCREMENT BY 50;
+
+-- 기존 id 뒤에서 시작하도록 올린다 (롤링 배포 중 다른 노드가 이미 받은 구간을 침범하지 않게 내리지는 않음)
+SELECT setval('meta_token_seq', GREATEST(
+       (SELECT COALESCE(MAX(id), 0) FROM meta_token),
+       (SELECT last_value FROM meta_token_seq),
+       1));
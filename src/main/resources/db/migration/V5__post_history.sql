@@ -0,0 +1,65 @@
+-- 게시 시도 이력: 계정별 시도마다 한 행, 추가만 한다 (PostHistoryAppender 가 배치로 INSERT)
+-- 하루 단위 범위 파티션이라 보관 기간이 지난 날은 DELETE 없이 파티션 DROP 으로 지운다
+-- 파티션 키가 기본 키에 들어가야 하므로 PK 는 (attempted_at, id)
+
+CREATE SEQUENCE IF NOT EXISTS post_history_seq;
+
+CREATE TABLE post_history (
+    id            bigint       NOT NULL DEFAULT nextval('post_history_seq'),
+    attempted_at  timestamp(6) NOT NULL,
+    account_id    bigint,
+    user_id       varchar(255),
+    run_id        varchar(64),
+    job           varchar(64),
+    success       boolean      NOT NULL,
+    creation_id   varchar(255),
+    media_id      varchar(255),
+    error_cause   varchar(64),
+    error_message text,
+    generate_ms   integer,
+    create_ms     integer,
+    publish_ms    integer,
+    total_ms      integer      NOT NULL,
+    PRIMARY KEY (attempted_at, id)
+) PARTITION BY RANGE (attempted_at);
+
+-- 계정별 최신순 키셋 페이지: account_id = ? AND (attempted_at, id) < (?, ?)
+CREATE INDEX idx_post_history_account ON post_history (account_id, attempted_at DESC, id DESC);
+-- 실패만 훑는 조회는 실패 행만 담은 부분 인덱스로
+CREATE INDEX idx_post_history_failure ON post_history (attempted_at DESC, id DESC) WHERE NOT success;
+
+-- 어제부터 days_ahead 일 뒤까지의 일 파티션을 만들고, retention_days 보다 오래된 파티션을 지운다 (0 이면 보관)
+-- 여러 노드가 불러도 되도록 IF NOT EXISTS 로 만든다. 지운 파티션 수를 돌려준다
+CREATE FUNCTION post_history_maintain_partitions(days_ahead integer, retention_days integer)
+    RETURNS integer
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    d       date;
+    part    record;
+    dropped integer := 0;
+BEGIN
+    FOR d IN SELECT generate_series(current_date - 1, current_date + days_ahead, interval '1 day')::date
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF post_history FOR VALUES FROM (%L) TO (%L)',
+                       'post_history_' || to_char(d, 'YYYYMMDD'), d, d + 1);
+    END LOOP;
+
+    IF retention_days > 0 THEN
+        FOR part IN
+            SELECT c.relname
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = 'post_history'::regclass
+               AND c.relname ~ '^post_history_[0-9]{8}$'
+               AND to_date(substring(c.relname FROM 14), 'YYYYMMDD') < current_date - retention_days
+        LOOP
+            EXECUTE format('DROP TABLE %I', part.relname);
+            dropped := dropped + 1;
+        END LOOP;
+    END IF;
+    RETURN dropped;
+END
+$$;
+
+SELECT post_history_maintain_partitions(7, 0);
@@ -0,0 +1,112 @@
+-- 게시 통계 집계: meta_token 이 바뀔 때마다 트리거가 증분으로 반영하므로
+-- 요약 조회는 계정 수와 상관없이 토픽 수만큼의 행만 읽는다
+-- (JPA, JDBC 일괄 처리, R2DBC, PostCountAggregator 등 모든 쓰기 경로가 같은 트리거를 거친다)
+-- PostCountAggregator 는 모인 증가분을 id 순 배열로 한 문장에 보내므로 트리거도 flush 한 번에 토픽별로 한 번 돈다
+
+-- 트리거 생성과 초기값 채우기 사이에 다른 노드의 쓰기가 빠지거나 두 번 더해지지 않도록
+LOCK TABLE meta_token IN SHARE ROW EXCLUSIVE MODE;
+
+-- 토픽별 계정 수와 누적 게시 수 (topic_id 0 = 토픽 없음)
+CREATE TABLE post_stats_topic (
+    topic_id      bigint PRIMARY KEY,
+    account_count bigint NOT NULL DEFAULT 0,
+    post_count    bigint NOT NULL DEFAULT 0
+);
+
+-- 날짜/토픽별 게시 수. 카운트 초기화로 줄어든 값은 지난 날짜에 반영하지 않는다
+CREATE TABLE post_stats_daily (
+    day        date   NOT NULL,
+    topic_id   bigint NOT NULL,
+    post_count bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, topic_id)
+);
+
+-- 상위 N 계정 조회용 (전체 / 토픽 안)
+CREATE INDEX idx_meta_token_post_count ON meta_token (post_count DESC, id);
+CREATE INDEX idx_meta_token_topic_post_count ON meta_token (content_topic_id, post_count DESC, id);
+
+-- 문장 단위 트리거: 한 문장이 바꾼 행을 전이 테이블로 받아 토픽별로 한 번씩만 더한다.
+-- 행 단위로 토픽 행을 갱신하면 많은 계정을 바꾸는 문장이 같은 토픽 행을 행 수만큼 잠그고,
+-- 동시에 도는 문장끼리 토픽 행을 다른 순서로 잠가 교착이 생긴다. 여기서는 topic_id 순으로 한 번만 잠근다.
+-- 전이 테이블을 쓰는 트리거는 컬럼 목록(UPDATE OF)을 둘 수 없어 모든 UPDATE 에서 돌지만,
+-- 바뀐 값이 없으면 통계 행을 건드리지 않는다.
+CREATE FUNCTION post_stats_on_meta_token()
+    RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO post_stats_topic AS s (topic_id, account_count, post_count)
+        SELECT COALESCE(content_topic_id, 0), count(*), sum(post_count)
+          FROM new_rows
+         GROUP BY 1
+         ORDER BY 1
+        ON CONFLICT (topic_id) DO UPDATE
+            SET account_count = s.account_count + EXCLUDED.account_count,
+                post_count    = s.post_count + EXCLUDED.post_count;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO post_stats_topic AS s (topic_id, account_count, post_count)
+        SELECT COALESCE(content_topic_id, 0), -count(*), -sum(post_count)
+          FROM old_rows
+         GROUP BY 1
+         ORDER BY 1
+        ON CONFLICT (topic_id) DO UPDATE
+            SET account_count = s.account_count + EXCLUDED.account_count,
+                post_count    = s.post_count + EXCLUDED.post_count;
+    ELSE
+        -- 바뀐 행마다 옛 토픽에서 빼고 새 토픽에 더한 뒤 토픽별로 합친다
+        WITH changed AS (
+            SELECT o.content_topic_id AS old_topic, o.post_count AS old_count,
+                   n.content_topic_id AS new_topic, n.post_count AS new_count
+              FROM old_rows o
+              JOIN new_rows n ON n.id = o.id
+             WHERE o.content_topic_id IS DISTINCT FROM n.content_topic_id
+                OR o.post_count <> n.post_count
+        ), delta AS (
+            SELECT COALESCE(old_topic, 0) AS topic_id, -1 AS accounts, -old_count AS posts FROM changed
+            UNION ALL
+            SELECT COALESCE(new_topic, 0), 1, new_count FROM changed
+        )
+        INSERT INTO post_stats_topic AS s (topic_id, account_count, post_count)
+        SELECT topic_id, sum(accounts), sum(posts)
+          FROM delta
+         GROUP BY topic_id
+        HAVING sum(accounts) <> 0 OR sum(posts) <> 0
+         ORDER BY topic_id
+        ON CONFLICT (topic_id) DO UPDATE
+            SET account_count = s.account_count + EXCLUDED.account_count,
+                post_count    = s.post_count + EXCLUDED.post_count;
+
+        INSERT INTO post_stats_daily AS d (day, topic_id, post_count)
+        SELECT current_date, COALESCE(n.content_topic_id, 0), sum(n.post_count - o.post_count)
+          FROM old_rows o
+          JOIN new_rows n ON n.id = o.id
+         WHERE n.post_count > o.post_count
+         GROUP BY 2
+         ORDER BY 2
+        ON CONFLICT (day, topic_id) DO UPDATE SET post_count = d.post_count + EXCLUDED.post_count;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_meta_token_post_stats_insert
+    AFTER INSERT ON meta_token
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION post_stats_on_meta_token();
+
+CREATE TRIGGER trg_meta_token_post_stats_update
+    AFTER UPDATE ON meta_token
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION post_stats_on_meta_token();
+
+CREATE TRIGGER trg_meta_token_post_stats_delete
+    AFTER DELETE ON meta_token
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION post_stats_on_meta_token();
+
+-- 기존 계정으로 초기값을 채운다 (날짜별 집계는 이 시점부터 쌓인다)
+INSERT INTO post_stats_topic (topic_id, account_count, post_count)
+SELECT COALESCE(content_topic_id, 0), count(*), COALESCE(sum(post_count), 0)
+  FROM meta_token
+ GROUP BY COALESCE(content_topic_id, 0);
@@ -0,0 +1,4 @@
+-- 작업 창(spread) 실행의 계정별 예약 시각. 재시작 시 타이밍 휠을 다시 채우고, 일괄 처리(drain)가 예약 전에 가져가지 않게 한다
+ALTER TABLE post_job ADD COLUMN IF NOT EXISTS due_at timestamp(6);
+
+CREATE INDEX IF NOT EXISTS idx_post_job_pending_due ON post_job (due_at) WHERE status = 'PENDING' AND due_at IS NOT NULL;
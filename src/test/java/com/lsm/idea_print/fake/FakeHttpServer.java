@@ -0,0 +1,134 @@
+package com.lsm.idea_print.fake;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가짜 업스트림 서버 공통 부분.
+ * 요청마다 속도 제한 -> 429 주입 -> 5xx 주입 -> 지연 순으로 적용하고, 통과하면 하위 클래스가 응답한다.
+ * 응답 상태 코드별 횟수를 모아 부하 테스트 보고서에 쓴다.
+ */
+public abstract class FakeHttpServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Integer, AtomicLong> responsesByStatus = new ConcurrentHashMap<>();
+    private volatile FakeServerBehavior behavior;
+
+    // 초당 허용량 제한용 토큰 버킷 (버스트 = 1초 분량)
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    protected FakeHttpServer(FakeServerBehavior behavior) throws IOException {
+        this.behavior = behavior;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        // 지연을 sleep 으로 흉내 내므로 요청마다 스레드가 필요하다
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::dispatch);
+        server.start();
+    }
+
+    public String origin() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setBehavior(FakeServerBehavior behavior) {
+        this.behavior = behavior;
+    }
+
+    public Map<Integer, Long> responseCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        responsesByStatus.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+
+    public void resetCounts() {
+        responsesByStatus.clear();
+    }
+
+    protected abstract void handle(HttpExchange exchange, String body) throws IOException;
+
+    protected void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        responsesByStatus.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    protected void respondJson(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, "application/json", body);
+    }
+
+    protected String errorBody(int status) {
+        return "{\"error\":{\"message\":\"fake " + status + "\",\"code\":" + status + "}}";
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            FakeServerBehavior current = behavior;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (!tryAcquire(current.getPermitsPerSecond()) || random.nextDouble() < current.getThrottleRate()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respondJson(exchange, 429, errorBody(429));
+                return;
+            }
+            sleep(current.sampleLatency());
+            if (random.nextDouble() < current.getErrorRate()) {
+                respondJson(exchange, 500, errorBody(500));
+                return;
+            }
+            handle(exchange, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private synchronized boolean tryAcquire(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(permitsPerSecond, tokens + (now - lastRefill) / 1e9 * permitsPerSecond);
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis(), (int) (latency.toNanos() % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
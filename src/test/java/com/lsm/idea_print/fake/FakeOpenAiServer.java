@@ -0,0 +1,59 @@
+package com.lsm.idea_print.fake;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가짜 OpenAI chat completions API.
+ * POST /v1/chat/completions 에 n 개의 choice 를 돌려주고, "stream": true 면 SSE 청크로 보낸다.
+ */
+public class FakeOpenAiServer extends FakeHttpServer {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public FakeOpenAiServer(FakeServerBehavior behavior) throws IOException {
+        super(behavior);
+    }
+
+    // openai.base-url
+    public String baseUrl() {
+        return origin() + "/v1";
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String body) throws IOException {
+        if (!exchange.getRequestURI().getPath().endsWith("/chat/completions")) {
+            respondJson(exchange, 404, errorBody(404));
+            return;
+        }
+        JsonNode request = objectMapper.readTree(body);
+        int n = Math.max(1, request.path("n").asInt(1));
+        long id = sequence.incrementAndGet();
+        if (request.path("stream").asBoolean(false)) {
+            StringBuilder events = new StringBuilder();
+            for (String delta : new String[]{"가짜 ", "생성 ", "문장 " + id}) {
+                events.append("data: {\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"")
+                        .append(delta).append("\"}}]}\n\n");
+            }
+            events.append("data: [DONE]\n\n");
+            respond(exchange, 200, "text/event-stream", events.toString());
+            return;
+        }
+        StringBuilder choices = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                choices.append(',');
+            }
+            choices.append("{\"index\":").append(i)
+                    .append(",\"message\":{\"role\":\"assistant\",\"content\":\"가짜 생성 문장 ")
+                    .append(id).append('-').append(i).append("\"},\"finish_reason\":\"stop\"}");
+        }
+        respondJson(exchange, 200, "{\"id\":\"chatcmpl-" + id + "\",\"object\":\"chat.completion\",\"choices\":["
+                + choices + "]}");
+    }
+}
@@ -0,0 +1,75 @@
+package com.lsm.idea_print.fake;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 가짜 업스트림 서버의 동작 설정.
+ * 지연은 중앙값과 p99 로 정하는 로그정규 분포, 오류/429 는 요청마다 확률로 발생한다.
+ * permitsPerSecond 를 넘는 요청은 실제 API 처럼 429 + Retry-After 로 거절한다.
+ */
+public final class FakeServerBehavior {
+
+    private static final double Z_99 = 2.326;
+
+    private final Duration medianLatency;
+    private final Duration p99Latency;
+    private final double errorRate;
+    private final double throttleRate;
+    private final double permitsPerSecond;
+
+    private FakeServerBehavior(Duration medianLatency, Duration p99Latency, double errorRate,
+                               double throttleRate, double permitsPerSecond) {
+        this.medianLatency = medianLatency;
+        this.p99Latency = p99Latency;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    // 지연, 오류, 속도 제한 없이 바로 응답
+    public static FakeServerBehavior instant() {
+        return new FakeServerBehavior(Duration.ZERO, Duration.ZERO, 0, 0, 0);
+    }
+
+    public FakeServerBehavior withLatency(Duration median, Duration p99) {
+        return new FakeServerBehavior(median, p99, errorRate, throttleRate, permitsPerSecond);
+    }
+
+    public FakeServerBehavior withErrorRate(double rate) {
+        return new FakeServerBehavior(medianLatency, p99Latency, rate, throttleRate, permitsPerSecond);
+    }
+
+    public FakeServerBehavior withThrottleRate(double rate) {
+        return new FakeServerBehavior(medianLatency, p99Latency, errorRate, rate, permitsPerSecond);
+    }
+
+    // 0 이하면 속도 제한 없음
+    public FakeServerBehavior withRateLimit(double permitsPerSecond) {
+        return new FakeServerBehavior(medianLatency, p99Latency, errorRate, throttleRate, permitsPerSecond);
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public double getThrottleRate() {
+        return throttleRate;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public Duration sampleLatency() {
+        if (medianLatency.isZero()) {
+            return Duration.ZERO;
+        }
+        double median = medianLatency.toNanos();
+        double sigma = p99Latency.compareTo(medianLatency) > 0
+                ? Math.log(p99Latency.toNanos() / median) / Z_99
+                : 0;
+        double sample = median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Duration.ofNanos((long) sample);
+    }
+}
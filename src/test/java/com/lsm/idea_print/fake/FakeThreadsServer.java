@@ -0,0 +1,50 @@
+package com.lsm.idea_print.fake;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가짜 Threads Graph API.
+ * POST /v1.0/{userId}/threads, POST /v1.0/{userId}/threads_publish, GET /v1.0/me, GET /refresh_access_token,
+ * GET /v1.0/{containerId} (이미지 컨테이너 상태, 항상 FINISHED)
+ */
+public class FakeThreadsServer extends FakeHttpServer {
+
+    private final AtomicLong ids = new AtomicLong();
+
+    public FakeThreadsServer(FakeServerBehavior behavior) throws IOException {
+        super(behavior);
+    }
+
+    // threads.api.base-url
+    public String baseUrl() {
+        return origin() + "/v1.0";
+    }
+
+    // threads.api.token.refresh-url
+    public String refreshUrl() {
+        return origin() + "/refresh_access_token";
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String body) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/threads_publish")) {
+            respondJson(exchange, 200, "{\"id\":\"post-" + ids.incrementAndGet() + "\"}");
+        } else if (path.endsWith("/threads")) {
+            respondJson(exchange, 200, "{\"id\":\"container-" + ids.incrementAndGet() + "\"}");
+        } else if (path.endsWith("/me")) {
+            respondJson(exchange, 200, "{\"id\":\"me\",\"username\":\"fake\",\"name\":\"fake\"}");
+        } else if (path.endsWith("/refresh_access_token")) {
+            respondJson(exchange, 200, "{\"access_token\":\"refreshed-" + ids.incrementAndGet()
+                    + "\",\"token_type\":\"bearer\",\"expires_in\":5184000}");
+        } else if (path.contains("/container-")) {
+            String containerId = path.substring(path.lastIndexOf('/') + 1);
+            respondJson(exchange, 200, "{\"id\":\"" + containerId + "\",\"status\":\"FINISHED\"}");
+        } else {
+            respondJson(exchange, 404, errorBody(404));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.lsm.idea_print.load;
+
+import com.lsm.idea_print.dto.response.PostRunSummary;
+import com.lsm.idea_print.entity.MetaToken;
+import com.lsm.idea_print.fake.FakeOpenAiServer;
+import com.lsm.idea_print.fake.FakeServerBehavior;
+import com.lsm.idea_print.fake.FakeThreadsServer;
+import com.lsm.idea_print.repository.MetaTokenRepository;
+import com.lsm.idea_print.service.AccountRegistry;
+import com.lsm.idea_print.service.PostCountAggregator;
+import com.lsm.idea_print.service.PostJobWorker;
+import com.lsm.idea_print.service.ThreadsPostService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가짜 Threads/OpenAI 서버와 Testcontainers Postgres 로 정기 게시 파이프라인(post_job 큐 실행) 전체를 돌린다.
+ * 기본 test 태스크에서는 빠지고 ./gradlew loadTest -Pload.accounts=1000 처럼 실행한다.
+ *
+ * load.accounts            시드할 계정 수 (필수)
+ * load.latency.median-ms   가짜 서버 지연 중앙값 (기본 50)
+ * load.latency.p99-ms      가짜 서버 지연 p99 (기본 300)
+ * load.error-rate          5xx 비율 (기본 0.01)
+ * load.throttle-rate       429 비율 (기본 0.01)
+ * load.rate-limit          가짜 Threads 서버 초당 허용량, 0 이면 무제한 (기본 0)
+ * load.client-rps          앱 쪽 업스트림별 토큰 버킷 초당 허용량 (기본 1000)
+ */
+@Tag("load")
+@Testcontainers
+@SpringBootTest
+@EnabledIfSystemProperty(named = "load.accounts", matches = "\\d+")
+class PostingLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingLoadTest.class);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    private static FakeThreadsServer threadsServer;
+    private static FakeOpenAiServer openAiServer;
+
+    @Autowired
+    private MetaTokenRepository metaTokenRepository;
+    @Autowired
+    private AccountRegistry accountRegistry;
+    @Autowired
+    private PostJobWorker postJobWorker;
+    @Autowired
+    private ThreadsPostService threadsPostService;
+    @Autowired
+    private PostCountAggregator postCountAggregator;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        startFakeServers();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        // 가짜 OpenAI 는 같은 문장을 돌려주고 Redis 도 없으므로 중복 색인은 끈다
+        registry.add("posting.dedup.enabled", () -> "false");
+        registry.add("threads.api.base-url", threadsServer::baseUrl);
+        registry.add("threads.api.token.refresh-url", threadsServer::refreshUrl);
+        registry.add("meta.oauth.base-url", threadsServer::origin);
+        registry.add("openai.base-url", openAiServer::baseUrl);
+        registry.add("posting.threads.permits-per-second", () -> Long.getLong("load.client-rps", 1000));
+        registry.add("posting.threads.burst", () -> Long.getLong("load.client-rps", 1000));
+        registry.add("posting.openai.permits-per-second", () -> Long.getLong("load.client-rps", 1000));
+        registry.add("posting.openai.burst", () -> Long.getLong("load.client-rps", 1000));
+        registry.add("management.metrics.distribution.percentiles.posting.stage.duration", () -> "0.5,0.99");
+    }
+
+    @AfterAll
+    static void stopFakeServers() {
+        if (threadsServer != null) {
+            threadsServer.close();
+        }
+        if (openAiServer != null) {
+            openAiServer.close();
+        }
+    }
+
+    @Test
+    void dailyRunAgainstFakeUpstreams() {
+        int accounts = Integer.getInteger("load.accounts");
+        seedAccounts(accounts);
+
+        long startedAt = System.nanoTime();
+        PostRunSummary summary = threadsPostService
+                .summarize(postJobWorker.runDaily("load:" + System.currentTimeMillis()))
+                .block(Duration.ofHours(1));
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        postCountAggregator.flush();
+
+        assertThat(summary).isNotNull();
+        report(summary, elapsedSeconds);
+        assertThat(summary.getTotal()).isEqualTo(accounts);
+    }
+
+    private void seedAccounts(int count) {
+        List<MetaToken> batch = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            batch.add(MetaToken.builder()
+                    .userId("load-user-" + i)
+                    .accessToken("load-token-" + i)
+                    .prompt("부하 테스트 프롬프트 " + (i % 20))
+                    .build());
+            if (batch.size() == 1000) {
+                metaTokenRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        metaTokenRepository.saveAll(batch);
+        accountRegistry.invalidate();
+    }
+
+    private void report(PostRunSummary summary, double elapsedSeconds) {
+        StringBuilder report = new StringBuilder("\n=== 부하 테스트 결과 ===\n");
+        report.append(String.format("계정 %d, 성공 %d, 실패 %d, %.1fs, 처리량 %.1f posts/s%n",
+                summary.getTotal(), summary.getSuccessCount(), summary.getFailureCount(),
+                elapsedSeconds, summary.getTotal() / elapsedSeconds));
+
+        for (Timer timer : meterRegistry.find("posting.stage.duration").tag("outcome", "success").timers()) {
+            Map<Double, Double> percentiles = new TreeMap<>();
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+            }
+            report.append(String.format("%-16s count=%d p50=%.1fms p99=%.1fms%n",
+                    timer.getId().getTag("stage"), timer.count(),
+                    percentiles.getOrDefault(0.5, Double.NaN), percentiles.getOrDefault(0.99, Double.NaN)));
+        }
+
+        Map<String, Double> failures = new TreeMap<>();
+        for (Counter counter : meterRegistry.find("posting.results").tag("outcome", "failure").counters()) {
+            failures.merge(counter.getId().getTag("cause"), counter.count(), Double::sum);
+        }
+        report.append("실패 원인: ").append(failures).append('\n');
+        report.append("Threads 응답: ").append(threadsServer.responseCounts()).append('\n');
+        report.append("OpenAI 응답: ").append(openAiServer.responseCounts()).append('\n');
+        log.info(report.toString());
+    }
+
+    private static synchronized void startFakeServers() {
+        if (threadsServer != null) {
+            return;
+        }
+        FakeServerBehavior behavior = FakeServerBehavior.instant()
+                .withLatency(Duration.ofMillis(Long.getLong("load.latency.median-ms", 50)),
+                        Duration.ofMillis(Long.getLong("load.latency.p99-ms", 300)))
+                .withErrorRate(Double.parseDouble(System.getProperty("load.error-rate", "0.01")))
+                .withThrottleRate(Double.parseDouble(System.getProperty("load.throttle-rate", "0.01")));
+        try {
+            threadsServer = new FakeThreadsServer(behavior
+                    .withRateLimit(Double.parseDouble(System.getProperty("load.rate-limit", "0"))));
+            openAiServer = new FakeOpenAiServer(behavior);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.lsm.idea_print.repository;
+
+import com.lsm.idea_print.entity.MetaToken;
+import com.lsm.idea_print.entity.TokenStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 만료 시각을 모르는 새 계정도 min-token-age 가 지나면 스케줄 갱신 대상이 되는지 Flyway 스키마 위에서 확인한다.
+ * Docker 가 없으면 건너뛴다.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MetaTokenRepositoryTest {
+
+    private static final Duration REFRESH_BEFORE = Duration.ofDays(7);
+    private static final Duration MIN_TOKEN_AGE = Duration.ofHours(24);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private MetaTokenRepository metaTokenRepository;
+
+    @Test
+    void freshlySavedAccountBecomesRefreshCandidateAfterMinTokenAge() {
+        MetaToken saved = metaTokenRepository.saveAndFlush(MetaToken.builder()
+                .userId("fresh")
+                .accessToken("token")
+                .build());
+        assertThat(saved.getTokenExpiresAt()).isNull();
+
+        // 방금 저장한 토큰은 Meta 가 갱신을 거절하므로 아직 대상이 아니다
+        assertThat(candidates(LocalDateTime.now())).doesNotContain(saved.getId());
+        // min-token-age 가 지난 시점에는 만료 시각을 몰라도 대상이다
+        assertThat(candidates(LocalDateTime.now().plus(MIN_TOKEN_AGE).plusMinutes(1))).contains(saved.getId());
+    }
+
+    @Test
+    void skipsTokensFarFromExpiry() {
+        MetaToken saved = metaTokenRepository.saveAndFlush(MetaToken.builder()
+                .userId("refreshed")
+                .accessToken("token")
+                .tokenExpiresAt(LocalDateTime.now().plusDays(50))
+                .build());
+
+        assertThat(candidates(LocalDateTime.now().plus(MIN_TOKEN_AGE).plusMinutes(1))).doesNotContain(saved.getId());
+    }
+
+    // TokenLifecycleService.refreshExpiring 과 같은 인자로, now 시점의 갱신 대상 id
+    private List<Long> candidates(LocalDateTime now) {
+        return metaTokenRepository.findTokensToRefresh(TokenStatus.ACTIVE, now.plus(REFRESH_BEFORE),
+                        now.minus(MIN_TOKEN_AGE)).stream()
+                .map(MetaToken::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.lsm.idea_print.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CSV 가져오기의 RFC 4180 레코드 파싱: 따옴표 안의 쉼표/줄바꿈/이중 따옴표, 빈 줄과 빈 필드.
+ */
+class AccountBulkServiceTest {
+
+    @Test
+    void splitsPlainFieldsAndKeepsEmptyOnes() throws Exception {
+        BufferedReader reader = reader("user-1,token-1,\n,token-2,prompt\n");
+
+        assertThat(AccountBulkService.readCsvRecord(reader)).containsExactly("user-1", "token-1", "");
+        assertThat(AccountBulkService.readCsvRecord(reader)).containsExactly("", "token-2", "prompt");
+        assertThat(AccountBulkService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void readsQuotedCommasEscapedQuotesAndLineBreaks() throws Exception {
+        BufferedReader reader = reader("user-1,token-1,\"하나, \"\"둘\"\"\n셋\"\nuser-2,token-2,끝\n");
+
+        assertThat(AccountBulkService.readCsvRecord(reader)).containsExactly("user-1", "token-1", "하나, \"둘\"\n셋");
+        assertThat(AccountBulkService.readCsvRecord(reader)).containsExactly("user-2", "token-2", "끝");
+    }
+
+    @Test
+    void skipsBlankLinesBetweenRecords() throws Exception {
+        BufferedReader reader = reader("\n  \nuser-1,token-1\n\n");
+
+        assertThat(AccountBulkService.readCsvRecord(reader)).containsExactly("user-1", "token-1");
+        assertThat(AccountBulkService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        BufferedReader reader = reader("user-1,\"token-1\nstill open");
+
+        assertThatThrownBy(() -> AccountBulkService.readCsvRecord(reader))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BufferedReader reader(String csv) {
+        return new BufferedReader(new StringReader(csv));
+    }
+}
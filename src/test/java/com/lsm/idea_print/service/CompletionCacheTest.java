@@ -0,0 +1,43 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.OpenAiProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 키의 호출은 로더를 한 번만 부르고, 로더는 처음 요청한 호출자의 Context 를 본다.
+ */
+class CompletionCacheTest {
+
+    private final CompletionCache cache = new CompletionCache(new OpenAiProperties());
+
+    @Test
+    void reusesCompletedValueForSameKey() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            String value = cache.get("model", "prompt", () -> Mono.fromSupplier(() -> "문장" + loads.incrementAndGet()))
+                    .block(Duration.ofSeconds(5));
+            assertThat(value).isEqualTo("문장1");
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void loaderSeesCallerContext() {
+        String value = cache.get("model", "prompt",
+                        () -> Mono.deferContextual(context -> Mono.just(context.<String>get("key"))))
+                .contextWrite(Context.of("key", "value"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(value).isEqualTo("value");
+    }
+}
@@ -0,0 +1,86 @@
+package com.lsm.idea_print.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한도를 넘는 작업은 큐에서 기다렸다가 앞선 작업이 끝나거나 한도가 늘면 시작하고,
+ * 취소된 대기 작업은 시작하지 않는다.
+ */
+class ConcurrencyGateTest {
+
+    private final AtomicInteger started = new AtomicInteger();
+    private final List<Sinks.One<String>> running = new ArrayList<>();
+
+    @Test
+    void queuesWorkOverLimitUntilSlotIsReleased() {
+        ConcurrencyGate gate = new ConcurrencyGate(2);
+        for (int i = 0; i < 3; i++) {
+            gate.run(this::work).subscribe();
+        }
+
+        assertThat(started).hasValue(2);
+        assertThat(gate.getInFlight()).isEqualTo(2);
+        assertThat(gate.getPending()).isEqualTo(1);
+
+        running.get(0).tryEmitValue("done");
+
+        assertThat(started).hasValue(3);
+        assertThat(gate.getInFlight()).isEqualTo(2);
+        assertThat(gate.getPending()).isZero();
+    }
+
+    @Test
+    void cancelledWaiterNeverStarts() {
+        ConcurrencyGate gate = new ConcurrencyGate(1);
+        gate.run(this::work).subscribe();
+        Disposable waiting = gate.run(this::work).subscribe();
+
+        waiting.dispose();
+        running.get(0).tryEmitValue("done");
+
+        assertThat(started).hasValue(1);
+        assertThat(gate.getPending()).isZero();
+        assertThat(gate.getInFlight()).isZero();
+    }
+
+    @Test
+    void raisingLimitStartsWaiters() {
+        ConcurrencyGate gate = new ConcurrencyGate(1);
+        for (int i = 0; i < 3; i++) {
+            gate.run(this::work).subscribe();
+        }
+
+        gate.setLimit(3);
+
+        assertThat(started).hasValue(3);
+        assertThat(gate.getPending()).isZero();
+    }
+
+    @Test
+    void propagatesCallerContext() {
+        ConcurrencyGate gate = new ConcurrencyGate(1);
+
+        String value = gate.run(() -> Mono.deferContextual(context -> Mono.just(context.<String>get("key"))))
+                .contextWrite(Context.of("key", "value"))
+                .block();
+
+        assertThat(value).isEqualTo("value");
+    }
+
+    private Mono<String> work() {
+        started.incrementAndGet();
+        Sinks.One<String> sink = Sinks.one();
+        running.add(sink);
+        return sink.asMono();
+    }
+}
@@ -0,0 +1,83 @@
+package com.lsm.idea_print.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 시각을 고정하고 틱을 직접 진행시켜, 예약이 올림한 틱에서, 여러 바퀴 뒤 예약은 해당 바퀴에서,
+ * 이미 지난 예약은 다음 틱에 실행되는지 확인한다.
+ */
+class HashedTimingWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(100);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final List<String> fired = new ArrayList<>();
+    private final HashedTimingWheel wheel = new HashedTimingWheel(TICK, 4, error -> {
+        throw new AssertionError(error);
+    }, Clock.fixed(NOW, ZoneOffset.UTC), () -> 0L);
+
+    @Test
+    void roundsDueTimeUpToTheNextTick() {
+        wheel.schedule("a", NOW.plusMillis(250), () -> fired.add("a"));
+
+        advance(3);
+        assertThat(fired).isEmpty();
+        advance(1);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void keepsLaterRoundsInTheSameBucket() {
+        // 휠 크기 4: 2틱과 6틱은 같은 칸에 들어간다
+        wheel.schedule("near", NOW.plus(TICK.multipliedBy(2)), () -> fired.add("near"));
+        wheel.schedule("far", NOW.plus(TICK.multipliedBy(6)), () -> fired.add("far"));
+
+        advance(3);
+        assertThat(fired).containsExactly("near");
+        assertThat(wheel.sizeByLabel()).containsEntry("far", 1);
+        advance(4);
+        assertThat(fired).containsExactly("near", "far");
+    }
+
+    @Test
+    void runsPastDueEntriesOnTheNextTick() {
+        advance(5);
+        wheel.schedule("late", NOW.minusSeconds(10), () -> fired.add("late"));
+
+        advance(1);
+        assertThat(fired).containsExactly("late");
+    }
+
+    @Test
+    void groupsUpcomingEntriesBySlot() {
+        wheel.schedule("a", NOW.plusSeconds(30), () -> {
+        });
+        wheel.schedule("b", NOW.plusSeconds(50), () -> {
+        });
+        wheel.schedule("c", NOW.plusSeconds(90), () -> {
+        });
+        wheel.schedule("later", NOW.plusSeconds(600), () -> {
+        });
+
+        assertThat(wheel.upcoming(Duration.ofMinutes(2), Duration.ofMinutes(1)))
+                .containsEntry(NOW, 2)
+                .containsEntry(NOW.plusSeconds(60), 1)
+                .hasSize(2);
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+        }
+    }
+}
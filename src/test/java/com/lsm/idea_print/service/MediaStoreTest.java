@@ -0,0 +1,82 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.MediaAsset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 파라미터는 한 번만 생성하고, 디스크 한도를 넘으면 가장 오래 쓰지 않은 자산부터 지운다.
+ */
+class MediaStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void generatesOncePerKeyEvenWhenRequestedConcurrently() throws Exception {
+        MediaStore store = store(DataSize.ofMegabytes(1));
+        AtomicInteger generated = new AtomicInteger();
+        Map<String, String> params = Map.of("prompt", "고양이", "variant", "0");
+
+        Flux.range(0, 8)
+                .flatMap(i -> store.getOrCreate(params, () -> Mono.fromSupplier(() -> {
+                    generated.incrementAndGet();
+                    return new byte[]{1, 2, 3};
+                }).delayElement(Duration.ofMillis(50))))
+                .blockLast();
+        MediaAsset again = store.getOrCreate(params, () -> Mono.error(new AssertionError("다시 생성함"))).block();
+
+        assertThat(generated).hasValue(1);
+        assertThat(again).isNotNull();
+        assertThat(Files.readAllBytes(again.path())).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverQuota() throws Exception {
+        MediaStore store = store(DataSize.ofBytes(250));
+        MediaAsset first = put(store, "a");
+        MediaAsset second = put(store, "b");
+        // a 를 다시 써서 b 가 가장 오래 쓰지 않은 자산이 된다
+        store.find(first.hash());
+        put(store, "c");
+
+        assertThat(store.find(second.hash())).isEmpty();
+        assertThat(Files.exists(second.path())).isFalse();
+        assertThat(store.find(first.hash())).isPresent();
+        assertThat(store.getTotalBytes()).isEqualTo(200);
+    }
+
+    @Test
+    void keyIgnoresParameterOrder() {
+        assertThat(MediaStore.keyOf(Map.of("a", "1", "b", "2")))
+                .isEqualTo(MediaStore.keyOf(Map.of("b", "2", "a", "1")))
+                .hasSize(64);
+    }
+
+    private MediaStore store(DataSize quota) throws Exception {
+        PostingProperties properties = new PostingProperties();
+        properties.getMedia().setStoreDir(dir.toString());
+        properties.getMedia().setMaxDiskSize(quota);
+        properties.getMedia().setMinRetention(Duration.ZERO);
+        MediaStore store = new MediaStore(properties, Schedulers.boundedElastic());
+        store.load();
+        return store;
+    }
+
+    private static MediaAsset put(MediaStore store, String prompt) {
+        return store.getOrCreate(Map.of("prompt", prompt), () -> Mono.just(new byte[100])).block();
+    }
+}
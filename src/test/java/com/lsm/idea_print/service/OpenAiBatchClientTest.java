@@ -0,0 +1,121 @@
+package com.lsm.idea_print.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lsm.idea_print.config.OpenAiProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 스텁 서버로 OpenAI 배치 API 흐름(파일 업로드 -> 배치 생성 -> 상태 폴링 -> 결과 다운로드)을 검증한다.
+ */
+class OpenAiBatchClientTest {
+
+    private HttpServer server;
+    private final AtomicReference<String> uploadedBody = new AtomicReference<>();
+    private final AtomicInteger statusCalls = new AtomicInteger();
+    private final AtomicReference<String> output = new AtomicReference<>(String.join("\n",
+            "{\"custom_id\":\"1\",\"response\":{\"status_code\":200,\"body\":{\"choices\":[{\"message\":{\"content\":\"첫번째\"}}]}}}",
+            "{\"custom_id\":\"2\",\"response\":{\"status_code\":500,\"body\":{}}}",
+            ""));
+    private OpenAiBatchClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/files", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/content")) {
+                respond(exchange, output.get());
+                return;
+            }
+            uploadedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            respond(exchange, "{\"id\":\"file-input\"}");
+        });
+        server.createContext("/v1/batches", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, "{\"id\":\"batch-1\",\"status\":\"validating\"}");
+            } else if (statusCalls.incrementAndGet() < 2) {
+                respond(exchange, "{\"id\":\"batch-1\",\"status\":\"in_progress\"}");
+            } else {
+                respond(exchange, "{\"id\":\"batch-1\",\"status\":\"completed\",\"output_file_id\":\"file-output\"}");
+            }
+        });
+        server.start();
+
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+        properties.getBatch().setPollInterval(Duration.ofMillis(10));
+        client = new OpenAiBatchClient(WebClient.builder(), properties, new ObjectMapper(), "test-key");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void submitUploadsJsonlAndReturnsBatchId() {
+        Map<String, String> prompts = new LinkedHashMap<>();
+        prompts.put("1", "프롬프트1");
+        prompts.put("2", "프롬프트2");
+
+        String batchId = client.submit(prompts).block(Duration.ofSeconds(5));
+
+        assertThat(batchId).isEqualTo("batch-1");
+        assertThat(uploadedBody.get())
+                .contains("name=\"purpose\"")
+                .contains("\"custom_id\":\"1\"")
+                .contains("\"custom_id\":\"2\"")
+                .contains("/v1/chat/completions");
+    }
+
+    @Test
+    void awaitResultsPollsUntilCompletedAndSkipsFailedLines() {
+        Map<String, String> results = client.awaitResults("batch-1").block(Duration.ofSeconds(5));
+
+        assertThat(statusCalls.get()).isEqualTo(2);
+        assertThat(results).containsExactly(Map.entry("1", "첫번째"));
+    }
+
+    @Test
+    void readsOutputFileLargerThanDefaultBufferLimit() {
+        StringBuilder jsonl = new StringBuilder();
+        String filler = "가".repeat(200);
+        for (int i = 0; i < 1_000; i++) {
+            jsonl.append("{\"custom_id\":\"").append(i)
+                    .append("\",\"response\":{\"status_code\":200,\"body\":{\"choices\":[{\"message\":{\"content\":\"")
+                    .append(filler).append(i).append("\"}}]}}}\n");
+        }
+        output.set(jsonl.toString());
+        // WebClient 기본 한도(256KB)보다 큰 결과 파일
+        assertThat(jsonl.toString().getBytes(StandardCharsets.UTF_8).length).isGreaterThan(256 * 1024);
+
+        Map<String, String> results = client.awaitResults("batch-1").block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(1_000);
+        assertThat(results.get("0")).isEqualTo(filler + 0);
+        assertThat(results.get("999")).isEqualTo(filler + 999);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,158 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.PostingProperties;
+import com.lsm.idea_print.dto.response.PostResultResponse;
+import com.lsm.idea_print.dto.response.RunStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실행 마감은 결과가 계속 나오더라도 시작부터의 전체 시간으로 잰다.
+ * 같은 작업이 겹치면 정책대로 건너뛰거나 하나로 합쳐 뒤에 세우고, 종료 시에는 드레인 후 남은 실행을 취소한다.
+ */
+class RunCoordinatorTest {
+
+    private final PostingProperties properties = new PostingProperties();
+    private RunCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRuns().getDeadlines().put("slow", Duration.ofMillis(300));
+        properties.getRuns().getOverlaps().put("queued", PostingProperties.OverlapPolicy.QUEUE);
+        properties.getRuns().setShutdownDrain(Duration.ofSeconds(1));
+        coordinator = new RunCoordinator(properties, new PostingMetrics(new SimpleMeterRegistry()),
+                Schedulers.boundedElastic());
+        coordinator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.stop();
+    }
+
+    @Test
+    void deadlineCoversWholeRunNotJustFirstResult() throws Exception {
+        // 마감 안에 첫 결과가 나오고 이후로도 계속 결과가 나오는 느린 실행
+        CoordinatedRun run = coordinator.submit("slow", ignored -> Flux.interval(Duration.ofMillis(50))
+                        .map(i -> new PostResultResponse("user-" + i, true, null)))
+                .orElseThrow();
+
+        RunStatus status = awaitFinished(run.getId(), Duration.ofSeconds(3));
+
+        assertThat(status.state()).isEqualTo(RunStatus.State.TIMED_OUT);
+        assertThat(status.done()).isPositive();
+        assertThat(status.elapsedMillis()).isLessThan(2000);
+    }
+
+    @Test
+    void skipsOverlappingRunByDefault() throws Exception {
+        Sinks.Empty<Void> release = Sinks.empty();
+        AtomicInteger started = new AtomicInteger();
+        CoordinatedRun first = coordinator.submit("daily", blockedUntil(release, started)).orElseThrow();
+
+        assertThat(coordinator.submit("daily", blockedUntil(release, started))).isEmpty();
+        release.tryEmitEmpty();
+
+        assertThat(awaitFinished(first.getId(), Duration.ofSeconds(3)).state()).isEqualTo(RunStatus.State.COMPLETED);
+        assertThat(started).hasValue(1);
+        assertThat(coordinator.getActiveCount()).isZero();
+    }
+
+    @Test
+    void queuesOneOverlappingRunAndStartsItAfterCurrentFinishes() throws Exception {
+        Sinks.Empty<Void> release = Sinks.empty();
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger queuedStarted = new AtomicInteger();
+        CoordinatedRun first = coordinator.submit("queued", blockedUntil(release, started)).orElseThrow();
+
+        // 대기 중인 실행은 최신 것 하나로 합쳐진다
+        assertThat(coordinator.submit("queued", blockedUntil(Sinks.empty(), queuedStarted))).isEmpty();
+        assertThat(coordinator.submit("queued", ignored -> {
+            queuedStarted.incrementAndGet();
+            return Flux.just(new PostResultResponse("latest", true, null));
+        })).isEmpty();
+        assertThat(queuedStarted).hasValue(0);
+        release.tryEmitEmpty();
+
+        awaitFinished(first.getId(), Duration.ofSeconds(3));
+        awaitIdle(Duration.ofSeconds(3));
+        assertThat(queuedStarted).hasValue(1);
+        assertThat(coordinator.recentRuns()).extracting(RunStatus::job).containsExactly("queued", "queued");
+    }
+
+    @Test
+    void watchedRunIsSkippedEvenWhenPolicyQueues() throws Exception {
+        Sinks.Empty<Void> release = Sinks.empty();
+        AtomicInteger started = new AtomicInteger();
+        CoordinatedRun first = coordinator.submit("queued", blockedUntil(release, started)).orElseThrow();
+
+        assertThat(coordinator.submitWatched("queued", blockedUntil(release, started))).isEmpty();
+        release.tryEmitEmpty();
+
+        awaitFinished(first.getId(), Duration.ofSeconds(3));
+        awaitIdle(Duration.ofSeconds(3));
+        assertThat(started).hasValue(1);
+    }
+
+    @Test
+    void drainsRunningRunsOnStopAndRejectsNewOnes() throws Exception {
+        CoordinatedRun run = coordinator.submit("daily", current -> current.drainSignal()
+                        .thenMany(Flux.just(new PostResultResponse("in-flight", true, null))))
+                .orElseThrow();
+
+        coordinator.stop();
+
+        RunStatus status = coordinator.find(run.getId()).orElseThrow();
+        assertThat(status.state()).isEqualTo(RunStatus.State.COMPLETED);
+        assertThat(status.done()).isEqualTo(1);
+        assertThat(coordinator.submit("daily", ignored -> Flux.empty())).isEmpty();
+    }
+
+    @Test
+    void cancelsRunsThatOutliveShutdownDrain() {
+        properties.getRuns().setShutdownDrain(Duration.ofMillis(200));
+        CoordinatedRun run = coordinator.submit("daily", ignored -> Flux.<PostResultResponse>never()).orElseThrow();
+
+        coordinator.stop();
+
+        assertThat(coordinator.find(run.getId()).orElseThrow().state()).isEqualTo(RunStatus.State.CANCELLED);
+        assertThat(coordinator.getActiveCount()).isZero();
+    }
+
+    // release 가 끝날 때까지 결과 없이 기다리는 파이프라인
+    private static Function<CoordinatedRun, Flux<PostResultResponse>> blockedUntil(Sinks.Empty<Void> release,
+                                                                                  AtomicInteger started) {
+        return run -> {
+            started.incrementAndGet();
+            return release.asMono().thenMany(Flux.just(new PostResultResponse("user", true, null)));
+        };
+    }
+
+    private void awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (coordinator.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private RunStatus awaitFinished(String runId, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        RunStatus status = coordinator.find(runId).orElseThrow();
+        while (status.finishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            status = coordinator.find(runId).orElseThrow();
+        }
+        return status;
+    }
+}
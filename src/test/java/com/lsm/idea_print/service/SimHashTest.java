@@ -0,0 +1,50 @@
+package com.lsm.idea_print.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 중복 색인이 기대는 SimHash 성질: 표기 차이는 같은 서명, 작은 수정은 가까운 서명,
+ * 거리 bands - 1 이하는 반드시 한 구간을 공유.
+ */
+class SimHashTest {
+
+    private static final String ORIGINAL = "오늘도 웃으면서 시작해요! 작은 행복이 모여 큰 행복이 됩니다. 커피 한 잔의 여유를 즐겨보세요.";
+
+    @Test
+    void ignoresSpacingPunctuationAndEmoji() {
+        String reformatted = "오늘도 웃으면서 시작해요!! 작은 행복이 모여 큰 행복이 됩니다 커피 한 잔의 여유를 즐겨보세요 :)";
+
+        assertThat(SimHash.of(reformatted)).isEqualTo(SimHash.of(ORIGINAL));
+    }
+
+    @Test
+    void smallEditStaysCloseAndUnrelatedTextIsFar() {
+        String edited = "오늘도 웃으면서 시작해요! 작은 행복이 모여 큰 기쁨이 됩니다. 커피 한 잔의 여유를 즐겨보세요.";
+        String unrelated = "월요일 아침 출근길 지하철에서 읽기 좋은 짧은 시 한 편을 소개합니다. 바람이 분다.";
+
+        assertThat(SimHash.distance(SimHash.of(ORIGINAL), SimHash.of(edited))).isLessThanOrEqualTo(10);
+        assertThat(SimHash.distance(SimHash.of(ORIGINAL), SimHash.of(unrelated))).isGreaterThan(20);
+    }
+
+    @Test
+    void signaturesWithinBandsMinusOneShareABand() {
+        int bands = 8;
+        Random random = new Random(42);
+        for (int trial = 0; trial < 1_000; trial++) {
+            long signature = random.nextLong();
+            long other = signature;
+            for (int flip = 0; flip < bands - 1; flip++) {
+                other ^= 1L << random.nextInt(64);
+            }
+            long a = signature;
+            long b = other;
+            assertThat(IntStream.range(0, bands).anyMatch(band -> SimHash.band(a, band, bands) == SimHash.band(b, band, bands)))
+                    .isTrue();
+        }
+    }
+}
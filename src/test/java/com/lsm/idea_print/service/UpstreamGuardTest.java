@@ -0,0 +1,170 @@
+package com.lsm.idea_print.service;
+
+import com.lsm.idea_print.config.ResilienceProperties;
+import com.lsm.idea_print.exception.ThreadsApiException;
+import com.lsm.idea_print.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 서킷 브레이커가 연속 실패 뒤 호출을 막고, AIMD 한도가 과부하에 줄고 성공에 늘며,
+ * 재시도 판단과 Retry-After 해석이 멱등 여부와 헤더 형식을 따르는지 확인한다.
+ */
+class UpstreamGuardTest {
+
+    @Test
+    void opensCircuitAfterConsecutiveFailures() {
+        ResilienceProperties.Upstream properties = properties();
+        properties.setFailureThreshold(2);
+        UpstreamGuard guard = guard(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                calls.incrementAndGet();
+                return Mono.error(error(500));
+            }).block()).isInstanceOf(ThreadsApiException.class);
+        }
+
+        assertThat(guard.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.call(() -> {
+            calls.incrementAndGet();
+            return Mono.just("ok");
+        }).block()).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        ResilienceProperties.Upstream properties = properties();
+        properties.setFailureThreshold(1);
+        UpstreamGuard guard = guard(properties);
+
+        assertThatThrownBy(() -> guard.call(() -> Mono.error(error(400))).block())
+                .isInstanceOf(ThreadsApiException.class);
+
+        assertThat(guard.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenProbeClosesCircuitOnSuccess() throws Exception {
+        ResilienceProperties.Upstream properties = properties();
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ofMillis(50));
+        UpstreamGuard guard = guard(properties);
+
+        assertThatThrownBy(() -> guard.call(() -> Mono.error(error(503))).block())
+                .isInstanceOf(ThreadsApiException.class);
+        Thread.sleep(100);
+
+        assertThat(guard.call(() -> Mono.just("ok")).block()).isEqualTo("ok");
+        assertThat(guard.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void concurrencyLimitDecreasesOnOverloadAndGrowsOnSuccess() {
+        ResilienceProperties.Upstream properties = properties();
+        properties.setInitialConcurrency(8);
+        properties.setMaxConcurrency(9);
+        UpstreamGuard guard = guard(properties);
+
+        assertThatThrownBy(() -> guard.call(() -> Mono.error(error(429))).block())
+                .isInstanceOf(ThreadsApiException.class);
+        assertThat(guard.getConcurrencyLimit()).isEqualTo(4);
+        // 429 는 장애가 아니라 서킷에 세지 않는다
+        assertThat(guard.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // 한도만큼 성공할 때마다 1 씩 늘고 최대치를 넘지 않는다
+        for (int i = 0; i < 100; i++) {
+            guard.call(() -> Mono.just("ok")).block();
+        }
+        assertThat(guard.getConcurrencyLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void retriesOnlyWhatIsSafeToResend() {
+        Throwable notSent = new WebClientRequestException(new ConnectException("refused"), HttpMethod.POST,
+                URI.create("http://localhost"), new HttpHeaders());
+
+        assertThat(UpstreamGuard.isRetryable(error(429), false)).isTrue();
+        assertThat(UpstreamGuard.isRetryable(notSent, false)).isTrue();
+        assertThat(UpstreamGuard.isRetryable(error(500), false)).isFalse();
+        assertThat(UpstreamGuard.isRetryable(new TimeoutException(), false)).isFalse();
+        assertThat(UpstreamGuard.isRetryable(error(500), true)).isTrue();
+        assertThat(UpstreamGuard.isRetryable(new TimeoutException(), true)).isTrue();
+        assertThat(UpstreamGuard.isRetryable(error(400), true)).isFalse();
+        assertThat(UpstreamGuard.isRetryable(new UpstreamUnavailableException("threads"), true)).isFalse();
+
+        assertThat(UpstreamGuard.isAmbiguous(error(502))).isTrue();
+        assertThat(UpstreamGuard.isAmbiguous(notSent)).isFalse();
+        assertThat(UpstreamGuard.isAmbiguous(error(400))).isFalse();
+    }
+
+    @Test
+    void nonIdempotentCallIsNotResentAfterServerError() {
+        ResilienceProperties.Upstream properties = properties();
+        properties.setMaxRetries(3);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        UpstreamGuard guard = guard(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.call(() -> {
+            calls.incrementAndGet();
+            return Mono.error(error(500));
+        }, false).block()).isInstanceOf(ThreadsApiException.class);
+        assertThat(calls).hasValue(1);
+
+        calls.set(0);
+        assertThatThrownBy(() -> guard.call(() -> {
+            calls.incrementAndGet();
+            return Mono.error(error(500));
+        }, true).block()).isInstanceOf(ThreadsApiException.class);
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndHttpDate() {
+        assertThat(UpstreamGuard.parseRetryAfter("7")).isEqualTo(Duration.ofSeconds(7));
+        assertThat(UpstreamGuard.parseRetryAfter(" -3 ")).isEqualTo(Duration.ZERO);
+        assertThat(UpstreamGuard.parseRetryAfter(null)).isNull();
+        assertThat(UpstreamGuard.parseRetryAfter("soon")).isNull();
+
+        String inThirtySeconds = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+        assertThat(UpstreamGuard.parseRetryAfter(inThirtySeconds))
+                .isBetween(Duration.ofSeconds(28), Duration.ofSeconds(30));
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusHours(1));
+        assertThat(UpstreamGuard.parseRetryAfter(past)).isEqualTo(Duration.ZERO);
+    }
+
+    private static ResilienceProperties.Upstream properties() {
+        ResilienceProperties.Upstream properties = new ResilienceProperties.Upstream(Duration.ofSeconds(5));
+        properties.setMaxRetries(0);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    private static UpstreamGuard guard(ResilienceProperties.Upstream properties) {
+        return new UpstreamGuard("threads", properties, new TokenBucketRateLimiter(1_000_000, 1_000));
+    }
+
+    private static ThreadsApiException error(int status) {
+        return new ThreadsApiException("HTTP " + status, HttpStatusCode.valueOf(status), "");
+    }
+}